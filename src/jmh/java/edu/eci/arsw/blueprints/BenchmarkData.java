@@ -0,0 +1,56 @@
+package edu.eci.arsw.blueprints;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos sintéticos compartidos por los benchmarks: trazos tipo "random walk" con
+ * aproximadamente un 25% de puntos consecutivos repetidos, como los que envían los clientes de dibujo, y
+ * trazos densos que giran despacio (casi colineales a escala local), los que más reduce una simplificación.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() { }
+
+    public static List<Point> stroke(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Point> points = new ArrayList<>(size);
+        int x = 0;
+        int y = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || random.nextInt(4) != 0) {
+                x += random.nextInt(-3, 4);
+                y += random.nextInt(-3, 4);
+            }
+            points.add(new Point(x, y));
+        }
+        return points;
+    }
+
+    public static List<Point> smoothStroke(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Point> points = new ArrayList<>(size);
+        double x = 0;
+        double y = 0;
+        double heading = 0;
+        for (int i = 0; i < size; i++) {
+            heading += random.nextDouble(-0.02, 0.02);
+            x += Math.cos(heading);
+            y += Math.sin(heading);
+            points.add(new Point((int) Math.round(x), (int) Math.round(y)));
+        }
+        return points;
+    }
+
+    public static Blueprint blueprint(String author, String name, int size, long seed) {
+        return new Blueprint(author, name, stroke(size, seed));
+    }
+
+    public static String author(int i) { return "author-" + (i % 100); }
+
+    public static String name(int i) { return "bp-" + i; }
+}
@@ -0,0 +1,133 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.BlueprintsApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga HTTP de la aplicación completa con Tomcat en hilos de plataforma (200 por defecto) contra hilos
+ * virtuales, durante un pico de latencia de la base: cada conexión tomada del pool espera {@code dbLatencyMs} en
+ * PostgreSQL ({@code pg_sleep}). 380 clientes leen un blueprint (van a la base) y 20 consultan
+ * {@code /actuator/filtercache} (no la usan). Con hilos de plataforma las lecturas ocupan todos los hilos de Tomcat
+ * esperando el pool y las consultas rápidas hacen cola detrás; con hilos virtuales solo esperan las que necesitan
+ * conexión. El throughput de lecturas lo limita el pool (10 conexiones) en ambos modos.
+ * Usa la base de {@code -Dbench.jdbc.url} (por defecto la de docker-compose).
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class RequestThreadModeBenchmark {
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"50"})
+    public int dbLatencyMs;
+
+    ConfigurableApplicationContext app;
+    HttpClient client;
+    HttpRequest readBlueprint;
+    HttpRequest cacheStats;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        app = new SpringApplicationBuilder(BlueprintsApplication.class, SlowDatabase.class)
+                // command-line arguments, so they win over application.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                        "--spring.datasource.url=" + System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/blueprintsdb"),
+                        "--spring.datasource.username=" + System.getProperty("bench.jdbc.user", "blueprintuser"),
+                        "--spring.datasource.password=" + System.getProperty("bench.jdbc.password", "blueprintpass"),
+                        "--spring.datasource.hikari.connection-timeout=60000",
+                        "--spring.docker.compose.enabled=false",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        "--blueprints.point-storage.compact-interval=PT1H",
+                        "--bench.db-latency-ms=" + dbLatencyMs);
+        String base = "http://localhost:" + app.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        readBlueprint = HttpRequest.newBuilder(URI.create(base + "/api/v1/blueprints/john/house")).build();
+        cacheStats = HttpRequest.newBuilder(URI.create(base + "/actuator/filtercache")).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        app.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(380)
+    public int readBlueprint() throws IOException, InterruptedException {
+        return send(readBlueprint);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(20)
+    public int cacheStats() throws IOException, InterruptedException {
+        return send(cacheStats);
+    }
+
+    private int send(HttpRequest request) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status != 200) throw new IllegalStateException(request.uri() + " -> " + status);
+        return status;
+    }
+
+    /** Simula el pico: cada conexión entregada por el pool primero espera en el servidor, ocupándola. */
+    @Configuration(proxyBeanMethods = false)
+    static class SlowDatabase {
+
+        @Bean
+        static BeanPostProcessor slowConnections(Environment env) {
+            double seconds = env.getProperty("bench.db-latency-ms", Integer.class, 0) / 1000.0;
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource ds) || bean instanceof DelegatingDataSource) return bean;
+                    return new DelegatingDataSource(ds) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            Connection c = super.getConnection();
+                            try (Statement st = c.createStatement()) {
+                                st.execute("SELECT pg_sleep(" + seconds + ")");
+                            }
+                            return c;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
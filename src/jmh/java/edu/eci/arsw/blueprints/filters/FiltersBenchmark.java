@@ -0,0 +1,58 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@code apply} de cada filtro sobre blueprints de 10 a 1M puntos, y de redundancy seguido de
+ * undersampling aplicados uno tras otro frente a la misma combinación en un {@link FilterPipeline}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FiltersBenchmark {
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int points;
+
+    private final RedundancyFilter redundancy = new RedundancyFilter();
+    private final UndersamplingFilter undersampling = new UndersamplingFilter();
+    private final BlueprintsFilter pipeline = FilterPipeline.of("redundancy,undersampling");
+
+    Blueprint blueprint;
+
+    @Setup
+    public void setUp() {
+        blueprint = BenchmarkData.blueprint("bench", "filters", points, 42);
+    }
+
+    @Benchmark
+    public Blueprint redundancy() {
+        return redundancy.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint undersampling() {
+        return undersampling.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint chained() {
+        return undersampling.apply(redundancy.apply(blueprint));
+    }
+
+    @Benchmark
+    public Blueprint pipeline() {
+        return pipeline.apply(blueprint);
+    }
+}
@@ -0,0 +1,51 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Douglas-Peucker y Visvalingam-Whyatt con tolerancia 1 (distancia y área) sobre trazos suaves y "random walk".
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class SimplificationBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int points;
+
+    @Param({"smooth", "walk"})
+    public String shape;
+
+    private final DouglasPeuckerFilter douglasPeucker = new DouglasPeuckerFilter(1.0);
+    private final VisvalingamFilter visvalingam = new VisvalingamFilter(1.0);
+
+    Blueprint blueprint;
+
+    @Setup
+    public void setUp() {
+        blueprint = new Blueprint("bench", "simplify", shape.equals("smooth")
+                ? BenchmarkData.smoothStroke(points, 42)
+                : BenchmarkData.stroke(points, 42));
+    }
+
+    @Benchmark
+    public Blueprint douglasPeucker() {
+        return douglasPeucker.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint visvalingam() {
+        return visvalingam.apply(blueprint);
+    }
+}
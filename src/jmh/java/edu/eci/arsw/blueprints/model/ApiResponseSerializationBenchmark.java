@@ -0,0 +1,51 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson del sobre {@code ApiResponse<Set<Blueprint>>} que devuelven los listados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ApiResponseSerializationBenchmark {
+
+    @Param({"100", "10000"})
+    public int blueprints;
+
+    @Param({"32"})
+    public int pointsPerBlueprint;
+
+    ObjectMapper mapper;
+    ApiResponse<Set<Blueprint>> response;
+
+    @Setup
+    public void setUp() {
+        mapper = Jackson2ObjectMapperBuilder.json().build();
+        Set<Blueprint> data = new HashSet<>();
+        for (int i = 0; i < blueprints; i++) {
+            data.add(BenchmarkData.blueprint(BenchmarkData.author(i), BenchmarkData.name(i), pointsPerBlueprint, i));
+        }
+        response = new ApiResponse<>(200, "execute ok", data);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(response);
+    }
+}
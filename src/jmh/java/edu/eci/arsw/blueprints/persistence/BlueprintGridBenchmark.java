@@ -0,0 +1,82 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta por ventana sobre {@code blueprints} trazos repartidos en un plano de 1.000.000 x 1.000.000: la grilla
+ * de {@link BlueprintGrid} contra revisar la caja de cada blueprint. {@code window} es el lado de la ventana.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class BlueprintGridBenchmark {
+
+    private static final int PLANE = 1_000_000;
+    private static final int WINDOWS = 1024;
+
+    @Param({"10000", "100000"})
+    public int blueprints;
+
+    @Param({"1000", "50000"})
+    public int window;
+
+    List<Blueprint> all;
+    BlueprintGrid grid;
+    BoundingBox[] windows;
+    int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        all = new ArrayList<>(blueprints);
+        grid = new BlueprintGrid();
+        for (int i = 0; i < blueprints; i++) {
+            // 100-point random walk moved to a random spot on the plane
+            PackedPoints stroke = PackedPoints.of(BenchmarkData.stroke(100, i));
+            int dx = random.nextInt(PLANE), dy = random.nextInt(PLANE);
+            long[] moved = new long[stroke.size()];
+            for (int p = 0; p < moved.length; p++) moved[p] = PackedPoints.pack(stroke.x(p) + dx, stroke.y(p) + dy);
+            Blueprint bp = new Blueprint(BenchmarkData.author(i), BenchmarkData.name(i), new PackedPoints(moved, moved.length));
+            all.add(bp);
+            grid.update(bp);
+        }
+        windows = new BoundingBox[WINDOWS];
+        for (int i = 0; i < WINDOWS; i++) {
+            int x = random.nextInt(PLANE - window), y = random.nextInt(PLANE - window);
+            windows[i] = new BoundingBox(x, y, x + window, y + window);
+        }
+    }
+
+    @Benchmark
+    public Set<Blueprint> grid() {
+        return grid.intersecting(windows[next++ & (WINDOWS - 1)]);
+    }
+
+    @Benchmark
+    public Set<Blueprint> scan() {
+        BoundingBox w = windows[next++ & (WINDOWS - 1)];
+        Set<Blueprint> found = new HashSet<>();
+        for (Blueprint bp : all) {
+            if (bp.getBounds().intersects(w)) found.add(bp);
+        }
+        return found;
+    }
+}
@@ -0,0 +1,79 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importación masiva de {@code blueprints} x {@code pointsEach} puntos con {@link PostgresBlueprintImporter}, con los
+ * puntos codificados en {@code point_data} o como filas de {@code points}. Necesita el esquema ya migrado en la base
+ * de {@code -Dbench.jdbc.url} (por defecto la de docker-compose); cada importación se deshace con rollback.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BlueprintImportBenchmark {
+
+    @Param({"2000"})
+    public int blueprints;
+
+    @Param({"500"})
+    public int pointsEach;
+
+    @Param({"encoded", "rows"})
+    public String storage;
+
+    Connection connection;
+    List<ImportRecord> records;
+    PostgresBlueprintImporter importer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/blueprintsdb"),
+                System.getProperty("bench.jdbc.user", "blueprintuser"),
+                System.getProperty("bench.jdbc.password", "blueprintpass"));
+        connection.setAutoCommit(false);
+        importer = new PostgresBlueprintImporter(storage.equals("encoded"));
+        // same shape as BlueprintImportIT: 50 authors, points (i, b)
+        records = new ArrayList<>(blueprints);
+        for (int b = 0; b < blueprints; b++) {
+            long[] coords = new long[pointsEach];
+            for (int i = 0; i < pointsEach; i++) coords[i] = PackedPoints.pack(i, b);
+            Blueprint bp = new Blueprint("bench-import-" + (b % 50), "bp-" + b, new PackedPoints(coords, pointsEach));
+            records.add(new ImportRecord(b + 1, bp));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public ImportReport importAll() throws Exception {
+        try {
+            return importer.importInto(connection, records.iterator());
+        } finally {
+            connection.rollback();
+        }
+    }
+}
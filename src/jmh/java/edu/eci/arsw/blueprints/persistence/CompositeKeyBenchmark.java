@@ -0,0 +1,68 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por (author, name): clave concatenada {@code author + ":" + name} (esquema anterior)
+ * frente al mapa de dos niveles author -> name de {@link InMemoryBlueprintPersistence}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CompositeKeyBenchmark {
+
+    private static final int MASK = 4095;
+
+    @Param({"10000"})
+    public int blueprints;
+
+    final Map<String, Blueprint> concatenated = new ConcurrentHashMap<>();
+    InMemoryBlueprintPersistence twoLevel;
+    String[] authors;
+    String[] names;
+    int next;
+
+    @Setup
+    public void setUp() throws BlueprintPersistenceException {
+        twoLevel = new InMemoryBlueprintPersistence();
+        for (int i = 0; i < blueprints; i++) {
+            Blueprint bp = new Blueprint(BenchmarkData.author(i), BenchmarkData.name(i), List.of());
+            concatenated.put(bp.getAuthor() + ":" + bp.getName(), bp);
+            twoLevel.saveBlueprint(bp);
+        }
+        // lookups use fresh String instances, as path variables of a request would
+        authors = new String[MASK + 1];
+        names = new String[MASK + 1];
+        for (int i = 0; i <= MASK; i++) {
+            int k = (int) ((i * 2654435761L) % blueprints);
+            authors[i] = new String(BenchmarkData.author(k));
+            names[i] = new String(BenchmarkData.name(k));
+        }
+    }
+
+    @Benchmark
+    public Blueprint stringConcatenation() {
+        int i = next++ & MASK;
+        return concatenated.get(authors[i] + ":" + names[i]);
+    }
+
+    @Benchmark
+    public Blueprint twoLevelMap() throws BlueprintNotFoundException {
+        int i = next++ & MASK;
+        return twoLevel.getBlueprint(authors[i], names[i]);
+    }
+}
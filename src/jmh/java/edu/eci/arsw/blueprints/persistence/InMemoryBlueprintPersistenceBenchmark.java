@@ -0,0 +1,106 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.ThreadParams;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * get/save/addPoint del almacenamiento en memoria con 4 hilos concurrentes sobre el mismo store.
+ * El store se reconstruye en cada iteración para que los puntos y blueprints agregados no se acumulen.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(4)
+public class InMemoryBlueprintPersistenceBenchmark {
+
+    @Param({"10000"})
+    public int blueprints;
+
+    InMemoryBlueprintPersistence store;
+    String[] authors;
+    String[] names;
+
+    @Setup(Level.Trial)
+    public void keys() {
+        authors = new String[blueprints];
+        names = new String[blueprints];
+        for (int i = 0; i < blueprints; i++) {
+            authors[i] = BenchmarkData.author(i);
+            names[i] = BenchmarkData.name(i);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void setUp() throws BlueprintPersistenceException {
+        store = new InMemoryBlueprintPersistence();
+        for (int i = 0; i < blueprints; i++) {
+            store.saveBlueprint(BenchmarkData.blueprint(authors[i], names[i], 8, i));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private static final int MASK = 4095;
+
+        int[] random;
+        int[] owned;
+        int next;
+        int thread;
+        long created;
+
+        @Setup
+        public void setUp(InMemoryBlueprintPersistenceBenchmark bench, ThreadParams params) {
+            SplittableRandom rnd = new SplittableRandom(params.getThreadIndex());
+            random = new int[MASK + 1];
+            for (int i = 0; i < random.length; i++) random[i] = rnd.nextInt(bench.blueprints);
+            // addPoint targets only blueprints owned by this thread: contention is on the map, not on one list
+            owned = new int[MASK + 1];
+            for (int i = 0; i < owned.length; i++) {
+                int candidate = random[i] - random[i] % params.getThreadCount() + params.getThreadIndex();
+                owned[i] = candidate < bench.blueprints ? candidate : params.getThreadIndex();
+            }
+            thread = params.getThreadIndex();
+        }
+
+        int nextRandom() { return random[next++ & MASK]; }
+
+        int nextOwned() { return owned[next++ & MASK]; }
+    }
+
+    @Benchmark
+    public Blueprint getBlueprint(Cursor cursor) throws BlueprintNotFoundException {
+        int i = cursor.nextRandom();
+        return store.getBlueprint(authors[i], names[i]);
+    }
+
+    @Benchmark
+    public void saveBlueprint(Cursor cursor) throws BlueprintPersistenceException {
+        store.saveBlueprint(new Blueprint("bench-" + cursor.thread, "new-" + cursor.created++, List.of()));
+    }
+
+    @Benchmark
+    public void addPoint(Cursor cursor) throws BlueprintNotFoundException {
+        int i = cursor.nextOwned();
+        store.addPoint(authors[i], names[i], i, cursor.next);
+    }
+
+    @Benchmark
+    public void addPointSameBlueprint(Cursor cursor) throws BlueprintNotFoundException {
+        store.addPoint(authors[0], names[0], cursor.thread, cursor.next++);
+    }
+}
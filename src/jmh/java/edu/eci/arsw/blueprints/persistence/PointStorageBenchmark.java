@@ -0,0 +1,104 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.postgresql.PGConnection;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de leer todos los puntos de un blueprint grande desde PostgreSQL: una fila por punto (índice
+ * {@code (blueprint_id, point_order)}) contra {@code point_data} codificado con {@link PointCodec}. Usa tablas
+ * propias en la base de {@code -Dbench.jdbc.url} (por defecto la de docker-compose) y las borra al terminar.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class PointStorageBenchmark {
+
+    @Param({"1000000"})
+    public int points;
+
+    @Param({"rows", "packed"})
+    public String storage;
+
+    Connection connection;
+    PreparedStatement read;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                System.getProperty("bench.jdbc.url", "jdbc:postgresql://localhost:5432/blueprintsdb"),
+                System.getProperty("bench.jdbc.user", "blueprintuser"),
+                System.getProperty("bench.jdbc.password", "blueprintpass"));
+        PackedPoints stroke = PackedPoints.of(BenchmarkData.stroke(points, 42));
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_point_rows, bench_point_data");
+            if (storage.equals("rows")) {
+                st.execute("CREATE TABLE bench_point_rows (id BIGSERIAL PRIMARY KEY, blueprint_id BIGINT NOT NULL, "
+                        + "x INTEGER NOT NULL, y INTEGER NOT NULL, point_order INTEGER NOT NULL)");
+                StringBuilder rows = new StringBuilder(points * 16);
+                for (int i = 0; i < stroke.size(); i++) {
+                    rows.append("1\t").append(stroke.x(i)).append('\t').append(stroke.y(i)).append('\t').append(i).append('\n');
+                }
+                connection.unwrap(PGConnection.class).getCopyAPI().copyIn(
+                        "COPY bench_point_rows (blueprint_id, x, y, point_order) FROM STDIN", new StringReader(rows.toString()));
+                st.execute("CREATE INDEX ON bench_point_rows (blueprint_id, point_order)");
+                st.execute("VACUUM ANALYZE bench_point_rows");
+                read = connection.prepareStatement("SELECT x, y FROM bench_point_rows WHERE blueprint_id = 1 ORDER BY point_order");
+            } else {
+                st.execute("CREATE TABLE bench_point_data (id BIGINT PRIMARY KEY, packed_count INTEGER NOT NULL, point_data BYTEA)");
+                try (PreparedStatement insert = connection.prepareStatement("INSERT INTO bench_point_data VALUES (1, ?, ?)")) {
+                    insert.setInt(1, stroke.size());
+                    insert.setBytes(2, PointCodec.encode(stroke));
+                    insert.executeUpdate();
+                }
+                read = connection.prepareStatement("SELECT packed_count, point_data FROM bench_point_data WHERE id = 1");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement st = connection.createStatement()) {
+            st.execute("DROP TABLE IF EXISTS bench_point_rows, bench_point_data");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public PackedPoints readAllPoints() throws SQLException {
+        try (ResultSet rs = read.executeQuery()) {
+            if (storage.equals("packed")) {
+                rs.next();
+                int n = rs.getInt(1);
+                return new PackedPoints(PointCodec.decode(rs.getBytes(2), n, n), n);
+            }
+            long[] coords = new long[points];
+            int n = 0;
+            while (rs.next()) {
+                if (n == coords.length) coords = Arrays.copyOf(coords, n * 2);
+                coords[n++] = PackedPoints.pack(rs.getInt(1), rs.getInt(2));
+            }
+            return new PackedPoints(coords, n);
+        }
+    }
+}
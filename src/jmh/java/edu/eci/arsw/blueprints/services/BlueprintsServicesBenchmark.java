@@ -0,0 +1,72 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code getAllBlueprints} sobre el backend en memoria con 10k+ blueprints, cada filtro disponible y con o sin
+ * caché de resultados filtrados.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class BlueprintsServicesBenchmark {
+
+    @Param({"10000", "50000"})
+    public int blueprints;
+
+    @Param({"32"})
+    public int pointsPerBlueprint;
+
+    @Param({"identity", "redundancy", "undersampling"})
+    public String filter;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    BlueprintsServices services;
+
+    @Setup
+    public void setUp() throws BlueprintPersistenceException {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        for (int i = 0; i < blueprints; i++) {
+            persistence.saveBlueprint(BenchmarkData.blueprint(
+                    BenchmarkData.author(i), BenchmarkData.name(i), pointsPerBlueprint, i));
+        }
+        // the cache fits every filtered blueprint, so with cache=true repeated reads never run the filter
+        services = new BlueprintsServices(persistence, filter(filter), cache
+                ? new FilteredBlueprintCache((long) blueprints * (pointsPerBlueprint + 1), 0, Duration.ofMinutes(10))
+                : FilteredBlueprintCache.disabled());
+    }
+
+    static BlueprintsFilter filter(String name) {
+        return switch (name) {
+            case "redundancy" -> new RedundancyFilter();
+            case "undersampling" -> new UndersamplingFilter();
+            default -> new IdentityFilter();
+        };
+    }
+
+    @Benchmark
+    public Set<Blueprint> getAllBlueprints() {
+        return services.getAllBlueprints();
+    }
+}
@@ -0,0 +1,55 @@
+package edu.eci.arsw.blueprints.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Un sondeo de un editor colaborativo, hasta el JSON que viaja: el blueprint completo frente a solo los
+ * {@code appended} puntos agregados desde el sondeo anterior ({@code ?sincePoint=}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class DeltaReadBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int points;
+
+    @Param({"10"})
+    public int appended;
+
+    final ObjectMapper mapper = new ObjectMapper();
+    BlueprintsServices services;
+
+    @Setup
+    public void setUp() throws BlueprintPersistenceException {
+        InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+        persistence.saveBlueprint(BenchmarkData.blueprint("bench", "delta", points + appended, 42));
+        services = new BlueprintsServices(persistence, new IdentityFilter());
+    }
+
+    @Benchmark
+    public byte[] full() throws BlueprintNotFoundException, JsonProcessingException {
+        return mapper.writeValueAsBytes(services.getBlueprint("bench", "delta"));
+    }
+
+    @Benchmark
+    public byte[] delta() throws BlueprintNotFoundException, JsonProcessingException {
+        return mapper.writeValueAsBytes(services.getPointsSince("bench", "delta", points));
+    }
+}
@@ -0,0 +1,65 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Filtrado de un listado completo en el hilo que llama o en el pool de {@link FilterExecutor}, según el total de
+ * puntos, para ubicar el umbral {@code blueprints.filter.parallel-min-points}. {@code threads=0} usa un hilo por CPU.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class FilterExecutorBenchmark {
+
+    @Param({"10000", "50000", "200000", "1000000"})
+    public int totalPoints;
+
+    @Param({"1000"})
+    public int pointsPerBlueprint;
+
+    @Param({"sequential", "parallel"})
+    public String mode;
+
+    @Param({"0"})
+    public int threads;
+
+    List<Blueprint> blueprints;
+    FilterExecutor executor;
+    final RedundancyFilter filter = new RedundancyFilter();
+
+    @Setup
+    public void setUp() {
+        blueprints = IntStream.range(0, totalPoints / pointsPerBlueprint)
+                .mapToObj(i -> BenchmarkData.blueprint(BenchmarkData.author(i), BenchmarkData.name(i), pointsPerBlueprint, i))
+                .toList();
+        int parallelism = threads > 0 ? threads : Math.max(2, Runtime.getRuntime().availableProcessors());
+        // threshold 1: every listing of two or more blueprints goes to the pool
+        executor = mode.equals("parallel") ? new FilterExecutor(parallelism, 1) : FilterExecutor.sequential();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.destroy();
+    }
+
+    @Benchmark
+    public Set<Blueprint> filterAll() {
+        return executor.filterAll(blueprints, filter::apply);
+    }
+}
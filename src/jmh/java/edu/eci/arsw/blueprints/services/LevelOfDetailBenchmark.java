@@ -0,0 +1,48 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.BenchmarkData;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lectura filtrada de un blueprint completo frente a la del nivel de detalle de {@code maxPoints} puntos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LevelOfDetailBenchmark {
+
+    @Param({"100000", "1000000"})
+    public int points;
+
+    @Param({"1000"})
+    public int maxPoints;
+
+    final RedundancyFilter filter = new RedundancyFilter();
+    Blueprint blueprint;
+
+    @Setup
+    public void setUp() {
+        blueprint = BenchmarkData.blueprint("bench", "lod", points, 42);
+    }
+
+    @Benchmark
+    public Blueprint full() {
+        return filter.apply(blueprint);
+    }
+
+    @Benchmark
+    public Blueprint maxPoints() {
+        return filter.apply(LevelOfDetail.maxPoints(blueprint, maxPoints));
+    }
+}
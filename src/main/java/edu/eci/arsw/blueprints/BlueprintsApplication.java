@@ -2,8 +2,12 @@ package edu.eci.arsw.blueprints;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2dbcBlueprintPersistence owns its R2DBC pool (see why there)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class BlueprintsApplication {
     public static void main(String[] args) {
         SpringApplication.run(BlueprintsApplication.class, args);
@@ -1,10 +1,20 @@
 package edu.eci.arsw.blueprints.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
 import edu.eci.arsw.blueprints.model.ApiResponse;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintPage;
+import edu.eci.arsw.blueprints.model.ImportReport;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import edu.eci.arsw.blueprints.services.BlueprintImportService;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,8 +22,14 @@ import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -22,8 +38,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Set;
 
 @Validated
@@ -36,9 +58,23 @@ public class BlueprintsAPIController {
     private static final String EXAMPLE_409 = "{\"code\":409,\"message\":\"blueprint already exists\",\"data\":null}";
     private static final String EXAMPLE_500 = "{\"code\":500,\"message\":\"internal server error\",\"data\":null}";
 
+    static final int MAX_PAGE_SIZE = 1000;
+    static final int MAX_POINTS_PER_APPEND = 10_000;
+    static final int MAX_LOD = 31;
+
     private final BlueprintsServices services;
+    private final BlueprintImportService importService;
+    private final ObjectMapper objectMapper;
+    // export lines are flushed when the generator's buffer fills, not once per blueprint
+    private final ObjectWriter exportWriter;
 
-    public BlueprintsAPIController(BlueprintsServices services) { this.services = services; }
+    public BlueprintsAPIController(BlueprintsServices services, BlueprintImportService importService,
+                                   ObjectMapper objectMapper) {
+        this.services = services;
+        this.importService = importService;
+        this.objectMapper = objectMapper;
+        this.exportWriter = objectMapper.writerFor(Blueprint.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
 
     // GET /api/v1/blueprints
     @Operation(summary = "List all blueprints")
@@ -66,8 +102,123 @@ public class BlueprintsAPIController {
                             examples = @ExampleObject(value = EXAMPLE_500)))
     })
     @GetMapping
-    public ResponseEntity<ApiResponse<Set<Blueprint>>> getAll() {
-        Set<Blueprint> data = services.getAllBlueprints();
+    public ResponseEntity<ApiResponse<Set<Blueprint>>> getAll(@RequestParam(required = false) String filters) {
+        Set<Blueprint> data = services.getAllBlueprints(filters);
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
+    }
+
+    // GET /api/v1/blueprints?limit=&cursor=&points=
+    @Operation(summary = "List blueprints one page at a time, ordered by author and name")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "execute ok (ApiResponse envelope, data is a page; pass nextCursor back as cursor)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = "{\"code\":200,\"message\":\"execute ok\",\"data\":{\"items\":[{\"author\":\"jane\",\"name\":\"garden\",\"points\":[]}],\"nextCursor\":\"amFuZQBnYXJkZW4\"}}"))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400", description = "invalid limit or cursor",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_400))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500", description = "internal error",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_500)))
+    })
+    @GetMapping(params = "limit")
+    public ResponseEntity<ApiResponse<BlueprintPage>> page(@RequestParam @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "true") boolean points,
+                                                           @RequestParam(required = false) String filters) {
+        BlueprintPage data = services.getBlueprintsPage(cursor, limit, points, filters);
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
+    }
+
+    // A cursor only makes sense for paged reads: without this it would reach getAll and return everything
+    @Operation(hidden = true)
+    @GetMapping(params = {"cursor", "!limit"})
+    public ResponseEntity<ApiResponse<BlueprintPage>> cursorWithoutLimit() {
+        throw new BadRequestException("cursor requires limit");
+    }
+
+    // GET /api/v1/blueprints/export
+    @Operation(summary = "Stream every blueprint as newline-delimited JSON (one blueprint per line, no ApiResponse envelope)")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "one filtered blueprint per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            examples = @ExampleObject(value = "{\"author\":\"john\",\"name\":\"house\",\"points\":[{\"x\":0,\"y\":0}]}\n"))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500", description = "internal error (before the first line only; later failures truncate the stream)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_500)))
+    })
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) String filters) {
+        // resolved here: once the body runs, a 400 can no longer be sent
+        BlueprintsFilter filter = services.filter(filters);
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.setRootValueSeparator(null); // lines are ended explicitly below
+                services.exportBlueprints(bp -> {
+                    try {
+                        exportWriter.writeValue(gen, bp);
+                        gen.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, filter);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // GET /api/v1/blueprints/window?bbox=minX,minY,maxX,maxY
+    @Operation(summary = "List blueprints whose bounding box intersects a window, ordered by author and name, with only their points inside it")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "execute ok (ApiResponse envelope, data is a list of blueprints; points=false leaves them without points)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = "{\"code\":200,\"message\":\"execute ok\",\"data\":[{\"author\":\"john\",\"name\":\"garage\",\"points\":[{\"x\":5,\"y\":5}]}]}"))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400", description = "invalid bbox or filters",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_400))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500", description = "internal error",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_500)))
+    })
+    @GetMapping("/window")
+    public ResponseEntity<ApiResponse<List<Blueprint>>> window(@RequestParam String bbox,
+                                                               @RequestParam(defaultValue = "true") boolean points,
+                                                               @RequestParam(required = false) String filters) {
+        List<Blueprint> data = services.getBlueprintsWithin(bbox, points, filters);
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
+    }
+
+    // POST /api/v1/blueprints/import
+    @Operation(summary = "Bulk-load blueprints from NDJSON (export format) or CSV (author,name,x,y per point); existing ones are reported, not replaced")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "execute ok (ApiResponse envelope, data is the import report with per-record rejections)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = "{\"code\":200,\"message\":\"execute ok\",\"data\":{\"imported\":1,\"points\":4,\"rejected\":1,\"rejections\":[{\"line\":2,\"author\":\"john\",\"name\":\"house\",\"reason\":\"already exists\"}]}}"))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500", description = "internal error (nothing is imported)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_500)))
+    })
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ApiResponse<ImportReport>> importNdjson(InputStream body) throws BlueprintPersistenceException {
+        ImportReport data = importService.importNdjson(body);
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<ApiResponse<ImportReport>> importCsv(InputStream body) throws BlueprintPersistenceException {
+        ImportReport data = importService.importCsv(body);
         return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
     }
 
@@ -97,14 +248,15 @@ public class BlueprintsAPIController {
                             examples = @ExampleObject(value = EXAMPLE_500)))
     })
     @GetMapping("/{author}")
-    public ResponseEntity<ApiResponse<Set<Blueprint>>> byAuthor(@PathVariable String author)
+    public ResponseEntity<ApiResponse<Set<Blueprint>>> byAuthor(@PathVariable String author,
+                                                                @RequestParam(required = false) String filters)
             throws BlueprintNotFoundException {
-        Set<Blueprint> data = services.getBlueprintsByAuthor(author);
+        Set<Blueprint> data = services.getBlueprintsByAuthor(author, filters);
         return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
     }
 
-    // GET /api/v1/blueprints/{author}/{bpname}
-    @Operation(summary = "Get blueprint by author and name")
+    // GET /api/v1/blueprints/{author}/{bpname}?lod=|maxPoints=&bbox=
+    @Operation(summary = "Get blueprint by author and name, optionally at a lower level of detail (lod k keeps about 1 in 2^k points) and clipped to a bbox window (minX,minY,maxX,maxY)")
     @ApiResponses({
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200", description = "execute ok (ApiResponse envelope, data is the blueprint)",
@@ -112,7 +264,7 @@ public class BlueprintsAPIController {
                             schema = @Schema(implementation = ApiResponse.class),
                             examples = @ExampleObject(value = "{\"code\":200,\"message\":\"execute ok\",\"data\":{\"author\":\"john\",\"name\":\"house\"}}"))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
-                    responseCode = "400", description = "validation/business error",
+                    responseCode = "400", description = "validation/business error (lod and maxPoints together, out of range, or invalid bbox)",
                     content = @Content(schema = @Schema(implementation = ApiResponse.class),
                             examples = @ExampleObject(value = EXAMPLE_400))),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -129,9 +281,42 @@ public class BlueprintsAPIController {
                             examples = @ExampleObject(value = EXAMPLE_500)))
     })
     @GetMapping("/{author}/{bpname}")
-    public ResponseEntity<ApiResponse<Blueprint>> byAuthorAndName(@PathVariable String author, @PathVariable String bpname)
+    public ResponseEntity<ApiResponse<Blueprint>> byAuthorAndName(@PathVariable String author, @PathVariable String bpname,
+                                                                  @RequestParam(required = false) String filters,
+                                                                  @RequestParam(required = false) @Min(0) @Max(MAX_LOD) Integer lod,
+                                                                  @RequestParam(required = false) @Min(2) Integer maxPoints,
+                                                                  @RequestParam(required = false) String bbox)
+            throws BlueprintNotFoundException {
+        Blueprint data = services.getBlueprint(author, bpname, filters, lod, maxPoints, bbox);
+        return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
+    }
+
+    // GET /api/v1/blueprints/{author}/{bpname}?sincePoint=
+    @Operation(summary = "Get only the points appended since a known point count, as stored (no filters, lod or bbox); poll again with the returned pointCount")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "execute ok (ApiResponse envelope, data is the delta; points is empty when nothing was appended)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = "{\"code\":200,\"message\":\"execute ok\",\"data\":{\"author\":\"john\",\"name\":\"house\",\"sincePoint\":4,\"pointCount\":5,\"version\":1,\"points\":[{\"x\":5,\"y\":5}]}}"))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400", description = "negative sincePoint",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_400))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404", description = "blueprint not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_404))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500", description = "internal error",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_500)))
+    })
+    @GetMapping(value = "/{author}/{bpname}", params = "sincePoint")
+    public ResponseEntity<ApiResponse<BlueprintDelta>> pointsSince(@PathVariable String author, @PathVariable String bpname,
+                                                                   @RequestParam @Min(0) int sincePoint)
             throws BlueprintNotFoundException {
-        Blueprint data = services.getBlueprint(author, bpname);
+        BlueprintDelta data = services.getPointsSince(author, bpname, sincePoint);
         return ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", data));
     }
 
@@ -203,9 +388,40 @@ public class BlueprintsAPIController {
                 .body(new ApiResponse<>(HttpStatus.ACCEPTED.value(), "updated", null));
     }
 
+    // POST /api/v1/blueprints/{author}/{bpname}/points
+    @Operation(summary = "Append several points to an existing blueprint, in order, as one operation")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202", description = "updated (ApiResponse envelope, data is null)",
+                    content = @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = "{\"code\":202,\"message\":\"updated\",\"data\":null}"))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400", description = "invalid payload (empty, null points or more than " + MAX_POINTS_PER_APPEND + " points)",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_400))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404", description = "blueprint not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_404))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "500", description = "internal error",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_500)))
+    })
+    @PostMapping("/{author}/{bpname}/points")
+    public ResponseEntity<ApiResponse<Void>> addPoints(@PathVariable String author, @PathVariable String bpname,
+                                                       @RequestBody @NotEmpty @Size(max = MAX_POINTS_PER_APPEND)
+                                                       List<@NotNull Point> points)
+            throws BlueprintNotFoundException {
+        services.addPoints(author, bpname, points);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(new ApiResponse<>(HttpStatus.ACCEPTED.value(), "updated", null));
+    }
+
     public record NewBlueprintRequest(
             @NotBlank String author,
             @NotBlank String name,
-            @Valid java.util.List<Point> points
+            @Valid List<@NotNull Point> points
     ) { }
 }
@@ -0,0 +1,82 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.model.ApiResponse;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.services.ReactiveBlueprintsServices;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecturas no bloqueantes para clientes con mucho fan-out. Los listados se transmiten como NDJSON (un blueprint por
+ * línea, sin envoltorio ApiResponse) y cada línea se lee de la base solo cuando el cliente alcanzó a recibir la
+ * anterior; las lecturas individuales y los errores usan el envoltorio ApiResponse de siempre.
+ */
+@RestController
+@RequestMapping("/api/v1/reactive/blueprints")
+public class ReactiveBlueprintsAPIController {
+
+    private static final String EXAMPLE_404 = "{\"code\":404,\"message\":\"blueprint not found\",\"data\":null}";
+    private static final String EXAMPLE_LINE = "{\"author\":\"john\",\"name\":\"house\",\"points\":[{\"x\":0,\"y\":0}]}\n";
+
+    private final ReactiveBlueprintsServices services;
+
+    public ReactiveBlueprintsAPIController(ReactiveBlueprintsServices services) {
+        this.services = services;
+    }
+
+    // GET /api/v1/reactive/blueprints
+    @Operation(summary = "Stream all blueprints ordered by author and name, as newline-delimited JSON")
+    @ApiResponses(@io.swagger.v3.oas.annotations.responses.ApiResponse(
+            responseCode = "200", description = "one filtered blueprint per line",
+            content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, examples = @ExampleObject(value = EXAMPLE_LINE))))
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Blueprint> getAll() {
+        return services.getAllBlueprints();
+    }
+
+    // GET /api/v1/reactive/blueprints/{author}
+    @Operation(summary = "Stream the blueprints of an author ordered by name, as newline-delimited JSON")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "one filtered blueprint per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, examples = @ExampleObject(value = EXAMPLE_LINE))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404", description = "author not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_404)))
+    })
+    @GetMapping(value = "/{author}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Blueprint> byAuthor(@PathVariable String author) {
+        return services.getBlueprintsByAuthor(author);
+    }
+
+    // GET /api/v1/reactive/blueprints/{author}/{bpname}
+    @Operation(summary = "Get a blueprint by author and name")
+    @ApiResponses({
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200", description = "execute ok (ApiResponse envelope)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = ApiResponse.class))),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404", description = "blueprint not found",
+                    content = @Content(schema = @Schema(implementation = ApiResponse.class),
+                            examples = @ExampleObject(value = EXAMPLE_404)))
+    })
+    @GetMapping("/{author}/{bpname}")
+    public Mono<ResponseEntity<ApiResponse<Blueprint>>> byAuthorAndName(@PathVariable String author,
+                                                                        @PathVariable String bpname) {
+        return services.getBlueprint(author, bpname)
+                .map(bp -> ResponseEntity.ok(new ApiResponse<>(HttpStatus.OK.value(), "execute ok", bp)));
+    }
+}
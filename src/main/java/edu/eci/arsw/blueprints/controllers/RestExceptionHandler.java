@@ -5,6 +5,7 @@ import edu.eci.arsw.blueprints.model.ApiResponse;
 import edu.eci.arsw.blueprints.persistence.BlueprintAlreadyExistsException;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,6 +15,7 @@ import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 
@@ -24,15 +26,22 @@ import java.util.stream.Collectors;
 /**
  * Manejo centralizado de errores para devolver ApiResponse uniforme en validaciones.
  * No cubre excepciones de negocio ya gestionadas en el controlador.
+ * Cada respuesta se cuenta en {@code blueprints.api.errors} con tags {@code status} y {@code exception}.
  */
 @ControllerAdvice
 public class RestExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(RestExceptionHandler.class);
 
+    private final MeterRegistry registry;
+
+    public RestExceptionHandler(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidation(MethodArgumentNotValidException ex) {
-        return error(HttpStatus.BAD_REQUEST, fieldErrors(ex.getBindingResult()));
+        return error(HttpStatus.BAD_REQUEST, ex, fieldErrors(ex.getBindingResult()));
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -43,38 +52,41 @@ public class RestExceptionHandler {
                 .entrySet().stream()
                 .map(e -> e.getKey() + ": " + String.join(", ", e.getValue()))
                 .collect(Collectors.joining("; "));
-        return error(HttpStatus.BAD_REQUEST, message.isBlank() ? "validation error" : message);
+        return error(HttpStatus.BAD_REQUEST, ex, message.isBlank() ? "validation error" : message);
     }
 
     @ExceptionHandler({BlueprintNotFoundException.class, NoSuchElementException.class})
     public ResponseEntity<ApiResponse<Void>> handleNotFound(Exception ex) {
-        return error(HttpStatus.NOT_FOUND, ex.getMessage());
+        return error(HttpStatus.NOT_FOUND, ex, ex.getMessage());
     }
 
     @ExceptionHandler(BlueprintAlreadyExistsException.class)
     public ResponseEntity<ApiResponse<Void>> handleConflict(BlueprintAlreadyExistsException ex) {
-        return error(HttpStatus.CONFLICT, ex.getMessage());
+        return error(HttpStatus.CONFLICT, ex, ex.getMessage());
     }
 
-    @ExceptionHandler({BadRequestException.class, HttpMessageNotReadableException.class})
+    @ExceptionHandler({BadRequestException.class, HttpMessageNotReadableException.class,
+            MissingServletRequestParameterException.class})
     public ResponseEntity<ApiResponse<Void>> handleBadRequest(Exception ex) {
         String message = ex instanceof HttpMessageNotReadableException ? "invalid request body" : ex.getMessage();
-        return error(HttpStatus.BAD_REQUEST, message);
+        return error(HttpStatus.BAD_REQUEST, ex, message);
     }
 
     @ExceptionHandler(BlueprintPersistenceException.class)
     public ResponseEntity<ApiResponse<Void>> handlePersistence(BlueprintPersistenceException ex) {
         log.error("Persistence error", ex);
-        return error(HttpStatus.INTERNAL_SERVER_ERROR, "internal server error");
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, ex, "internal server error");
     }
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse<Void>> handleGeneric(Exception ex) {
         log.error("Unhandled exception", ex);
-        return error(HttpStatus.INTERNAL_SERVER_ERROR, "internal server error");
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, ex, "internal server error");
     }
 
-    private ResponseEntity<ApiResponse<Void>> error(HttpStatus status, String message) {
+    private ResponseEntity<ApiResponse<Void>> error(HttpStatus status, Exception ex, String message) {
+        registry.counter("blueprints.api.errors",
+                "status", String.valueOf(status.value()), "exception", ex.getClass().getSimpleName()).increment();
         return ResponseEntity.status(status)
                 .body(new ApiResponse<>(status.value(), message == null ? status.getReasonPhrase() : message, null));
     }
@@ -4,4 +4,7 @@ import edu.eci.arsw.blueprints.model.Blueprint;
 
 public interface BlueprintsFilter {
     Blueprint apply(Blueprint bp);
+
+    /** Identifica los resultados de este filtro en la caché de filtrados. */
+    default String key() { return getClass().getName(); }
 }
@@ -0,0 +1,102 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Simplificación Ramer-Douglas-Peucker: conserva los extremos y, recursivamente, el punto más alejado del
+ * segmento entre los conservados mientras esa distancia supere {@code tolerance}. La recursión se hace con una
+ * pila explícita, así que no hay límite de profundidad; el costo es O(n log n) en trazos típicos y O(n²) en el
+ * peor caso (un punto conservado por paso, siempre en un extremo).
+ * <p>
+ * A diferencia de {@link VisvalingamFilter}, O(n log n) no está garantizado: una entrada armada para que cada
+ * división deje el punto más alejado junto a un extremo se acerca a n² cálculos de distancia. Quien lo elija para
+ * blueprints que no controla debe acotar antes sus puntos ({@code lod}/{@code maxPoints}) o usar Visvalingam.
+ * Perfil: "douglas-peucker"
+ */
+@Component
+@Profile("douglas-peucker")
+public class DouglasPeuckerFilter implements BlueprintsFilter {
+
+    private final double tolerance;
+
+    public DouglasPeuckerFilter(@Value("${blueprints.filter.douglas-peucker.tolerance:1.0}") double tolerance) {
+        if (!(tolerance >= 0)) throw new IllegalArgumentException("tolerance must be >= 0");
+        this.tolerance = tolerance;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        PackedPoints in = bp.getPoints();
+        int n = in.size();
+        if (n <= 2) return bp;
+        double maxSq = tolerance * tolerance;
+        boolean[] keep = new boolean[n];
+        keep[0] = keep[n - 1] = true;
+        int kept = 2;
+        // pairs (first, last) of ranges still to split
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        stack[top++] = n - 1;
+        while (top > 0) {
+            int last = stack[--top];
+            int first = stack[--top];
+            int farthest = farthest(in, first, last, maxSq);
+            if (farthest < 0) continue;
+            keep[farthest] = true;
+            kept++;
+            if (top + 4 > stack.length) stack = Arrays.copyOf(stack, stack.length * 2);
+            if (farthest - first > 1) {
+                stack[top++] = first;
+                stack[top++] = farthest;
+            }
+            if (last - farthest > 1) {
+                stack[top++] = farthest;
+                stack[top++] = last;
+            }
+        }
+        if (kept == n) return new Blueprint(bp.getAuthor(), bp.getName(), in);
+        long[] out = new long[kept];
+        for (int i = 0, k = 0; i < n; i++) {
+            if (keep[i]) out[k++] = in.packed(i);
+        }
+        return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(out, kept));
+    }
+
+    @Override
+    public String key() {
+        return getClass().getName() + ":" + tolerance;
+    }
+
+    /** Índice entre {@code first} y {@code last} más alejado de su segmento, si supera {@code minSq}; si no, -1. */
+    private static int farthest(PackedPoints pts, int first, int last, double minSq) {
+        // distance to the segment rather than its line, so closed strokes (first == last) and backtracking work
+        double ax = pts.x(first), ay = pts.y(first);
+        double dx = pts.x(last) - ax, dy = pts.y(last) - ay;
+        double lenSq = dx * dx + dy * dy;
+        // one division per range instead of one per point
+        double invLenSq = lenSq > 0 ? 1 / lenSq : 0;
+        int farthest = -1;
+        double farthestSq = minSq;
+        for (int i = first + 1; i < last; i++) {
+            long p = pts.packed(i);
+            double px = PackedPoints.unpackX(p) - ax, py = PackedPoints.unpackY(p) - ay;
+            double t = (px * dx + py * dy) * invLenSq;
+            t = t < 0 ? 0 : t > 1 ? 1 : t;
+            px -= t * dx;
+            py -= t * dy;
+            double d = px * px + py * py;
+            if (d > farthestSq) {
+                farthestSq = d;
+                farthest = i;
+            }
+        }
+        return farthest;
+    }
+}
@@ -0,0 +1,104 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encadena varias {@link PointStage} en una sola pasada sobre los puntos: cada punto atraviesa todas las etapas
+ * antes de leer el siguiente, sin listas ni blueprints intermedios. Las etapas se nombran como los perfiles
+ * ({@code redundancy}, {@code undersampling}) y se aplican en el orden dado, p. ej. {@code "redundancy,undersampling"}.
+ */
+public class FilterPipeline implements BlueprintsFilter {
+
+    private static final Map<String, PointStage> STAGES = Map.of(
+            "redundancy", new RedundancyFilter(),
+            "undersampling", new UndersamplingFilter());
+
+    private final List<String> names;
+    private final PointStage[] stages;
+
+    FilterPipeline(List<String> names) {
+        this.names = names;
+        this.stages = names.stream().map(STAGES::get).toArray(PointStage[]::new);
+    }
+
+    /**
+     * Filtro para {@code spec}, una lista de etapas separadas por comas. Sin etapas es la identidad y con una sola
+     * es el filtro de esa etapa, que ya recorre los puntos una vez.
+     *
+     * @throws IllegalArgumentException si alguna etapa no existe
+     */
+    public static BlueprintsFilter of(String spec) {
+        List<String> names = new ArrayList<>();
+        for (String s : spec.split(",")) {
+            String name = s.trim();
+            if (name.isEmpty()) continue;
+            if (!STAGES.containsKey(name)) {
+                throw new IllegalArgumentException("unknown filter '" + name + "', expected one of " + STAGES.keySet());
+            }
+            names.add(name);
+        }
+        return switch (names.size()) {
+            case 0 -> new IdentityFilter();
+            case 1 -> (BlueprintsFilter) STAGES.get(names.get(0));
+            default -> new FilterPipeline(List.copyOf(names));
+        };
+    }
+
+    public List<String> stages() {
+        return names;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        PackedPoints in = bp.getPoints();
+        int n = in.size();
+        if (n == 0) return bp;
+        // each stage bounds what it lets through, so the buffer holds the result without ever growing
+        int capacity = n;
+        for (PointStage stage : stages) {
+            capacity = stage.maxOut(capacity);
+        }
+        Collector out = new Collector(new long[capacity]);
+        PointStage.Sink sink = out;
+        for (int i = stages.length - 1; i >= 0; i--) {
+            sink = stages[i].open(sink);
+        }
+        for (int i = 0; i < n; i++) {
+            sink.accept(in.packed(i));
+        }
+        sink.end();
+        if (out.size == n) return new Blueprint(bp.getAuthor(), bp.getName(), in);
+        // a nearly full buffer is kept as is: trimming it would allocate almost as much again
+        if (out.size >= capacity - capacity / 8) {
+            return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(out.coords, out.size));
+        }
+        long[] kept = Arrays.copyOf(out.coords, out.size);
+        return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(kept, kept.length));
+    }
+
+    @Override
+    public String key() {
+        return "pipeline:" + String.join(",", names);
+    }
+
+    private static final class Collector implements PointStage.Sink {
+        private final long[] coords;
+        private int size;
+
+        Collector(long[] coords) { this.coords = coords; }
+
+        @Override
+        public void accept(long packed) {
+            coords[size++] = packed;
+        }
+
+        @Override
+        public void end() { }
+    }
+}
@@ -0,0 +1,32 @@
+package edu.eci.arsw.blueprints.filters;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Filtro predeterminado cuando no basta un perfil: {@code blueprints.filter.pipeline} (etapas separadas por comas)
+ * tiene prioridad sobre los perfiles; con {@code redundancy} y {@code undersampling} activos a la vez se
+ * eliminan duplicados y luego se submuestrea, en una sola pasada.
+ */
+@Configuration
+public class FilterPipelineConfig {
+
+    @Bean
+    @Primary
+    @ConditionalOnExpression("!'${blueprints.filter.pipeline:}'.isBlank()")
+    public BlueprintsFilter configuredFilterPipeline(@Value("${blueprints.filter.pipeline}") String spec) {
+        return FilterPipeline.of(spec);
+    }
+
+    @Bean
+    @Primary
+    @Profile("redundancy & undersampling & !douglas-peucker & !visvalingam")
+    @ConditionalOnExpression("'${blueprints.filter.pipeline:}'.isBlank()")
+    public BlueprintsFilter profileFilterPipeline() {
+        return FilterPipeline.of("redundancy,undersampling");
+    }
+}
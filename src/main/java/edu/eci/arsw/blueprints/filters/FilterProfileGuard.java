@@ -1,20 +1,34 @@
 package edu.eci.arsw.blueprints.filters;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.List;
 
 /**
- * Falla rápido si ambos perfiles de filtro están activos simultáneamente.
- * Política: no elegir uno silenciosamente para evitar forma de datos inesperada.
+ * Falla rápido si hay varios perfiles de filtro activos que {@link FilterPipeline} no puede encadenar: solo
+ * {@code redundancy} y {@code undersampling} son etapas. Con {@code blueprints.filter.pipeline} definido no aplica,
+ * porque ese filtro tiene prioridad sobre los perfiles.
  */
 @Configuration
-@Profile("redundancy & undersampling")
+@Profile("(douglas-peucker & (visvalingam | redundancy | undersampling)) | (visvalingam & (redundancy | undersampling))")
+@ConditionalOnExpression("'${blueprints.filter.pipeline:}'.isBlank()")
 public class FilterProfileGuard {
 
+    private static final List<String> FILTER_PROFILES =
+            List.of("redundancy", "undersampling", "douglas-peucker", "visvalingam");
+
+    // primary, so that resolving the filter reaches this bean instead of failing with NoUniqueBeanDefinitionException
     @Bean
-    public BlueprintsFilter conflictingFilter() {
-        throw new IllegalStateException(
-                "Profiles 'redundancy' and 'undersampling' cannot be active together. Choose one.");
+    @Primary
+    public BlueprintsFilter conflictingFilter(Environment environment) {
+        List<String> active = Arrays.stream(environment.getActiveProfiles()).filter(FILTER_PROFILES::contains).toList();
+        throw new IllegalStateException("Filter profiles " + active + " cannot be active together: only 'redundancy' "
+                + "and 'undersampling' chain. Choose one, or set blueprints.filter.pipeline.");
     }
 }
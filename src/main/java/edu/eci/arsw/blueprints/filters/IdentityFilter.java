@@ -9,7 +9,7 @@ import org.springframework.stereotype.Component;
  * Esto coincide con el comportamiento base del laboratorio de referencia antes de que los estudiantes implementen filtros personalizados.
  */
 @Component
-@Profile("!redundancy & !undersampling") // only active when no custom filter profile is enabled
+@Profile("!redundancy & !undersampling & !douglas-peucker & !visvalingam") // only active when no custom filter profile is enabled
 public class IdentityFilter implements BlueprintsFilter {
     @Override
     public Blueprint apply(Blueprint bp) { return bp; }
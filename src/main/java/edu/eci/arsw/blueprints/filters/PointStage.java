@@ -0,0 +1,23 @@
+package edu.eci.arsw.blueprints.filters;
+
+/**
+ * Etapa de un {@link FilterPipeline}. Para cada blueprint se abre un {@link Sink} nuevo, con el estado de esa
+ * pasada, que recibe uno a uno los puntos (empaquetados) que dejaron pasar las etapas anteriores y entrega a
+ * {@code downstream}, en orden, los que conserva. Una etapa nunca entrega más puntos de los que recibe.
+ */
+public interface PointStage {
+
+    Sink open(Sink downstream);
+
+    /** Cuántos puntos entrega como máximo una pasada que recibe {@code in}; por defecto todos. */
+    default int maxOut(int in) {
+        return in;
+    }
+
+    interface Sink {
+        void accept(long packed);
+
+        /** No hay más puntos: entrega lo pendiente y luego llama a {@code end()} de la etapa siguiente. */
+        void end();
+    }
+}
@@ -1,34 +1,53 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
-import org.springframework.context.annotation.Primary;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Elimina puntos consecutivos duplicados (x,y) para reducir redundancia.
- * Perfil: "redundancy"
+ * Perfil: "redundancy"; etapa {@code redundancy} de {@link FilterPipeline}.
  */
 @Component
 @Profile("redundancy")
-@Primary // preferred when redundancy profile is active
-public class RedundancyFilter implements BlueprintsFilter {
+public class RedundancyFilter implements BlueprintsFilter, PointStage {
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
-        if (in.isEmpty()) return bp;
-        List<Point> out = new ArrayList<>();
-        Point prev = null;
-        for (Point p : in) {
-            if (prev == null || !(prev.x()==p.x() && prev.y()==p.y())) {
-                out.add(p);
-                prev = p;
-            }
+        PackedPoints in = bp.getPoints();
+        int n = in.size();
+        if (n == 0) return bp;
+        // a point is redundant iff it equals its predecessor, so a counting pass gives the exact output size and a
+        // second pass fills it; a long[n] buffer trimmed afterwards allocates n + kept slots instead of kept
+        int kept = 1;
+        for (int i = 1; i < n; i++) {
+            if (in.packed(i) != in.packed(i - 1)) kept++;
+        }
+        if (kept == n) return new Blueprint(bp.getAuthor(), bp.getName(), in);
+        long[] out = new long[kept];
+        out[0] = in.packed(0);
+        for (int i = 1, k = 1; i < n; i++) {
+            long p = in.packed(i);
+            if (p != in.packed(i - 1)) out[k++] = p;
         }
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(out, kept));
+    }
+
+    @Override
+    public Sink open(Sink downstream) {
+        return new Sink() {
+            private boolean first = true;
+            private long previous;
+
+            @Override
+            public void accept(long packed) {
+                if (first || packed != previous) downstream.accept(packed);
+                first = false;
+                previous = packed;
+            }
+
+            @Override
+            public void end() { downstream.end(); }
+        };
     }
 }
@@ -1,30 +1,53 @@
 package edu.eci.arsw.blueprints.filters;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
-import edu.eci.arsw.blueprints.model.Point;
-import org.springframework.context.annotation.Primary;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * Undersampling: conserva 1 de cada 2 puntos (indices pares), reduciendo la densidad.
- * Perfil: "undersampling"
+ * Perfil: "undersampling"; etapa {@code undersampling} de {@link FilterPipeline}.
  */
 @Component
 @Profile("undersampling")
-@Primary // preferred when undersampling profile is active
-public class UndersamplingFilter implements BlueprintsFilter {
+public class UndersamplingFilter implements BlueprintsFilter, PointStage {
     @Override
     public Blueprint apply(Blueprint bp) {
-        List<Point> in = bp.getPoints();
-        if (in.size() <= 2) return bp;
-        List<Point> out = new ArrayList<>();
-        for (int i = 0; i < in.size(); i++) {
-            if (i % 2 == 0) out.add(in.get(i));
+        PackedPoints in = bp.getPoints();
+        int n = in.size();
+        if (n <= 2) return bp;
+        long[] out = new long[(n + 1) / 2];
+        for (int i = 0, k = 0; i < n; i += 2, k++) {
+            out[k] = in.packed(i);
         }
-        return new Blueprint(bp.getAuthor(), bp.getName(), out);
+        return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(out, out.length));
+    }
+
+    @Override
+    public Sink open(Sink downstream) {
+        return new Sink() {
+            private int index;
+            private long second;
+
+            @Override
+            public void accept(long packed) {
+                if ((index & 1) == 0) downstream.accept(packed);
+                else if (index == 1) second = packed;
+                index++;
+            }
+
+            // like apply: with only two points the second one is kept too
+            @Override
+            public void end() {
+                if (index == 2) downstream.accept(second);
+                downstream.end();
+            }
+        };
+    }
+
+    @Override
+    public int maxOut(int in) {
+        return in <= 2 ? in : (in + 1) / 2;
     }
 }
@@ -0,0 +1,149 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Simplificación Visvalingam-Whyatt: elimina una y otra vez el punto cuyo triángulo con sus vecinos actuales
+ * tiene menor área, hasta que todos los que quedan superen {@code min-area}. Un montículo indexado por punto da
+ * el mínimo y actualiza a los dos vecinos de cada eliminado, en O(n log n). Los extremos se conservan siempre.
+ * Perfil: "visvalingam"
+ */
+@Component
+@Profile("visvalingam")
+public class VisvalingamFilter implements BlueprintsFilter {
+
+    private final double minArea;
+
+    public VisvalingamFilter(@Value("${blueprints.filter.visvalingam.min-area:1.0}") double minArea) {
+        if (!(minArea >= 0)) throw new IllegalArgumentException("min-area must be >= 0");
+        this.minArea = minArea;
+    }
+
+    @Override
+    public Blueprint apply(Blueprint bp) {
+        PackedPoints in = bp.getPoints();
+        int n = in.size();
+        if (n <= 2) return bp;
+        // doubled areas: the cross product without the division
+        double threshold = 2 * minArea;
+        int[] prev = new int[n];
+        int[] next = new int[n];
+        for (int i = 0; i < n; i++) {
+            prev[i] = i - 1;
+            next[i] = i + 1;
+        }
+        AreaHeap heap = new AreaHeap(n);
+        for (int i = 1; i < n - 1; i++) {
+            heap.add(i, doubledArea(in, i - 1, i, i + 1));
+        }
+        heap.heapify();
+        int kept = n;
+        while (heap.size() > 0 && heap.minArea() < threshold) {
+            double removedArea = heap.minArea();
+            int i = heap.poll();
+            int p = prev[i], q = next[i];
+            next[p] = q;
+            prev[q] = p;
+            kept--;
+            // a neighbour never drops below the area just removed, or it would be removed out of order
+            if (p > 0) heap.update(p, Math.max(removedArea, doubledArea(in, prev[p], p, q)));
+            if (q < n - 1) heap.update(q, Math.max(removedArea, doubledArea(in, p, q, next[q])));
+        }
+        if (kept == n) return new Blueprint(bp.getAuthor(), bp.getName(), in);
+        long[] out = new long[kept];
+        for (int i = 0, k = 0; i < n; i = next[i]) {
+            out[k++] = in.packed(i);
+        }
+        return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(out, kept));
+    }
+
+    @Override
+    public String key() {
+        return getClass().getName() + ":" + minArea;
+    }
+
+    static double doubledArea(PackedPoints pts, int a, int b, int c) {
+        double bx = pts.x(b), by = pts.y(b);
+        return Math.abs((pts.x(a) - bx) * (pts.y(c) - by) - (pts.x(c) - bx) * (pts.y(a) - by));
+    }
+
+    /** Montículo binario de mínimos sobre índices de punto, con la posición de cada uno para actualizarlo. */
+    private static final class AreaHeap {
+        private final int[] heap;
+        private final int[] position;
+        private final double[] area;
+        private int size;
+
+        AreaHeap(int points) {
+            heap = new int[points];
+            position = new int[points];
+            area = new double[points];
+        }
+
+        void add(int point, double a) {
+            area[point] = a;
+            position[point] = size;
+            heap[size++] = point;
+        }
+
+        void heapify() {
+            for (int i = size / 2 - 1; i >= 0; i--) siftDown(i);
+        }
+
+        int size() { return size; }
+
+        double minArea() { return area[heap[0]]; }
+
+        int poll() {
+            int min = heap[0];
+            int last = heap[--size];
+            position[min] = -1;
+            if (size > 0) {
+                heap[0] = last;
+                position[last] = 0;
+                siftDown(0);
+            }
+            return min;
+        }
+
+        void update(int point, double a) {
+            double old = area[point];
+            area[point] = a;
+            if (a < old) siftUp(position[point]);
+            else siftDown(position[point]);
+        }
+
+        private void siftUp(int i) {
+            int point = heap[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (area[heap[parent]] <= area[point]) break;
+                move(heap[parent], i);
+                i = parent;
+            }
+            move(point, i);
+        }
+
+        private void siftDown(int i) {
+            int point = heap[i];
+            int half = size >>> 1;
+            while (i < half) {
+                int child = 2 * i + 1;
+                if (child + 1 < size && area[heap[child + 1]] < area[heap[child]]) child++;
+                if (area[point] <= area[heap[child]]) break;
+                move(heap[child], i);
+                i = child;
+            }
+            move(point, i);
+        }
+
+        private void move(int point, int i) {
+            heap[i] = point;
+            position[point] = i;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Medidores {@code blueprints.filter} (timer, tag {@code filter}) y {@code blueprints.filter.points.in|out} de cada
+ * clase de filtro. {@link HotPathMetricsAspect} los registra para los filtros que son beans; los que se arman por
+ * petición ({@code ?filters=}) no lo son, y se miden envolviéndolos con {@link #timed}.
+ */
+@Component
+public class FilterMetrics {
+
+    private final MeterRegistry registry;
+    // filters run once per blueprint of a listing: resolve their meters once per filter class
+    private final Map<Class<?>, Meters> meters = new ConcurrentHashMap<>();
+
+    public FilterMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Sin registro: {@link #timed} devuelve el mismo filtro. */
+    public static FilterMetrics disabled() {
+        return new FilterMetrics(null);
+    }
+
+    /** {@code filter} con sus medidores; la identidad no filtra nada y queda igual. */
+    public BlueprintsFilter timed(BlueprintsFilter filter) {
+        if (registry == null || filter instanceof IdentityFilter) return filter;
+        return new TimedFilter(filter, meters(filter.getClass()), this);
+    }
+
+    Meters meters(Class<?> filterClass) {
+        return meters.computeIfAbsent(filterClass, this::register);
+    }
+
+    long now() {
+        return registry.config().clock().monotonicTime();
+    }
+
+    private Meters register(Class<?> filterClass) {
+        String filter = filterClass.getSimpleName();
+        return new Meters(
+                Timer.builder("blueprints.filter").tag("filter", filter).register(registry),
+                points("blueprints.filter.points.in", filter),
+                points("blueprints.filter.points.out", filter));
+    }
+
+    private DistributionSummary points(String name, String filter) {
+        return DistributionSummary.builder(name).baseUnit("points").tag("filter", filter).register(registry);
+    }
+
+    record Meters(Timer latency, DistributionSummary in, DistributionSummary out) {
+
+        void record(long elapsedNanos, Blueprint in, Blueprint out) {
+            latency.record(elapsedNanos, TimeUnit.NANOSECONDS);
+            this.in.record(in.getPoints().size());
+            this.out.record(out.getPoints().size());
+        }
+    }
+
+    private record TimedFilter(BlueprintsFilter filter, Meters meters, FilterMetrics metrics) implements BlueprintsFilter {
+
+        @Override
+        public Blueprint apply(Blueprint bp) {
+            long start = metrics.now();
+            Blueprint out;
+            try {
+                out = filter.apply(bp);
+            } catch (RuntimeException e) {
+                meters.latency().record(metrics.now() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+            meters.record(metrics.now() - start, bp, out);
+            return out;
+        }
+
+        // same cache entries as the unwrapped filter
+        @Override
+        public String key() {
+            return filter.key();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Latencia y puntos de entrada/salida de cada método de {@code BlueprintPersistence} y de
+ * {@code BlueprintsFilter.apply}:
+ * <ul>
+ *   <li>{@code blueprints.persistence} (timer, tags {@code method} y {@code outcome}) y
+ *       {@code blueprints.persistence.points.in|out} (puntos escritos / leídos, tag {@code method}; en
+ *       {@code importBlueprints}, los puntos importados según su {@link ImportReport});</li>
+ *   <li>{@code blueprints.filter} (timer, tag {@code filter}) y {@code blueprints.filter.points.in|out}, ver
+ *       {@link FilterMetrics}.</li>
+ * </ul>
+ * Los puntos solo se registran en los métodos que los escriben o devuelven.
+ */
+@Aspect
+@Component
+public class HotPathMetricsAspect {
+
+    private final MeterRegistry registry;
+    private final FilterMetrics filterMetrics;
+    private final Map<String, PersistenceMeters> persistenceMeters = new ConcurrentHashMap<>();
+
+    public HotPathMetricsAspect(MeterRegistry registry, FilterMetrics filterMetrics) {
+        this.registry = registry;
+        this.filterMetrics = filterMetrics;
+    }
+
+    @Around("execution(* edu.eci.arsw.blueprints.persistence.BlueprintPersistence.*(..))")
+    public Object persistence(ProceedingJoinPoint pjp) throws Throwable {
+        String method = pjp.getSignature().getName();
+        PersistenceMeters meters = persistenceMeters.computeIfAbsent(method, this::persistenceMeters);
+        Object[] args = pjp.getArgs();
+        long in = pointsIn(method, args);
+        // forEachBlueprint returns nothing: count what goes through the caller's consumer instead
+        AtomicLong streamed = null;
+        if (args.length == 1 && args[0] instanceof Consumer<?> action) {
+            streamed = new AtomicLong();
+            args = new Object[]{counting(action, streamed)};
+        }
+        long start = registry.config().clock().monotonicTime();
+        boolean ok = false;
+        try {
+            Object result = pjp.proceed(args);
+            ok = true;
+            // an import only knows how many points it wrote once it has run
+            if (result instanceof ImportReport report) in = report.points();
+            long out = streamed != null ? streamed.get() : pointsOut(result);
+            if (out >= 0) meters.out().record(out);
+            return result;
+        } finally {
+            long elapsed = registry.config().clock().monotonicTime() - start;
+            (ok ? meters.success() : meters.error()).record(elapsed, TimeUnit.NANOSECONDS);
+            if (in >= 0) meters.in().record(in);
+        }
+    }
+
+    @Around("execution(* edu.eci.arsw.blueprints.filters.BlueprintsFilter.apply(..)) && args(bp)")
+    public Object filter(ProceedingJoinPoint pjp, Blueprint bp) throws Throwable {
+        FilterMetrics.Meters meters = filterMetrics.meters(pjp.getTarget().getClass());
+        long start = filterMetrics.now();
+        Blueprint out;
+        try {
+            out = (Blueprint) pjp.proceed();
+        } catch (Throwable e) {
+            meters.latency().record(filterMetrics.now() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+        meters.record(filterMetrics.now() - start, bp, out);
+        return out;
+    }
+
+    private PersistenceMeters persistenceMeters(String method) {
+        return new PersistenceMeters(
+                Timer.builder("blueprints.persistence").tag("method", method).tag("outcome", "success").register(registry),
+                Timer.builder("blueprints.persistence").tag("method", method).tag("outcome", "error").register(registry),
+                points("blueprints.persistence.points.in", "method", method),
+                points("blueprints.persistence.points.out", "method", method));
+    }
+
+    private DistributionSummary points(String name, String tag, String value) {
+        return DistributionSummary.builder(name).baseUnit("points").tag(tag, value).register(registry);
+    }
+
+    // -1 for methods that write no points
+    private static long pointsIn(String method, Object[] args) {
+        return switch (method) {
+            case "saveBlueprint" -> ((Blueprint) args[0]).getPoints().size();
+            case "addPoint" -> 1;
+            case "addPoints" -> ((List<?>) args[2]).size();
+            default -> -1;
+        };
+    }
+
+    // -1 for methods that return no blueprints
+    private static long pointsOut(Object result) {
+        if (result instanceof Blueprint bp) return bp.getPoints().size();
+        if (result instanceof BlueprintDelta delta) return delta.points().size();
+        if (result instanceof Collection<?> blueprints) {
+            long n = 0;
+            for (Object o : blueprints) {
+                if (o instanceof Blueprint bp) n += bp.getPoints().size();
+            }
+            return n;
+        }
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Consumer<Object> counting(Consumer<?> action, AtomicLong points) {
+        Consumer<Object> target = (Consumer<Object>) action;
+        return item -> {
+            if (item instanceof Blueprint bp) points.addAndGet(bp.getPoints().size());
+            target.accept(item);
+        };
+    }
+
+    private record PersistenceMeters(Timer success, Timer error, DistributionSummary in, DistributionSummary out) { }
+}
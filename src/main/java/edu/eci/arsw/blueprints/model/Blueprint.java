@@ -1,7 +1,8 @@
 package edu.eci.arsw.blueprints.model;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -9,19 +10,113 @@ public class Blueprint {
 
     private String author;
     private String name;
-    private final List<Point> points = new ArrayList<>();
+
+    // Append-only buffer of packed points (see PackedPoints): writers serialize on this blueprint's own lock,
+    // readers never lock. A writer stores the slot (and a grown array, if any) before publishing the new size,
+    // and readers read size before the array, so slots [0, size) of whatever array they see never change.
+    private final Object appendLock = new Object();
+    private volatile long[] coords;
+    private volatile int size;
+    private boolean sharedCoords; // coords adopted from a PackedPoints: copy before the first append
+    private volatile long version;
+    // null until first asked for, then widened by every append (under appendLock)
+    private volatile BoundingBox bounds;
 
     public Blueprint(String author, String name, List<Point> pts) {
+        this(author, name, pts == null ? PackedPoints.EMPTY : PackedPoints.of(pts));
+        this.sharedCoords = pts instanceof PackedPoints;
+    }
+
+    /** Adopta el arreglo de {@code pts} sin copiarlo; se copia solo si luego se agregan puntos. */
+    public Blueprint(String author, String name, PackedPoints pts) {
+        this(author, name, pts, 0);
+    }
+
+    /** Como {@link #Blueprint(String, String, PackedPoints)}, para blueprints leídos de un almacenamiento con versión. */
+    public Blueprint(String author, String name, PackedPoints pts, long version) {
+        if (pts == null) pts = PackedPoints.EMPTY;
         this.author = author;
         this.name = name;
-        if (pts != null) points.addAll(pts);
+        this.coords = pts.coords();
+        this.size = pts.size();
+        this.sharedCoords = true;
+        this.version = version;
     }
 
     public String getAuthor() { return author; }
     public String getName() { return name; }
-    public List<Point> getPoints() { return Collections.unmodifiableList(points); }
 
-    public void addPoint(Point p) { points.add(p); }
+    /** Contador de modificaciones: cada append (de uno o de varios puntos) lo incrementa. */
+    @JsonIgnore
+    public long getVersion() { return version; }
+
+    /** Snapshot inmutable de los puntos: no ve los que se agreguen después de la llamada. */
+    public PackedPoints getPoints() {
+        int n = size;
+        return new PackedPoints(coords, n);
+    }
+
+    /**
+     * Caja de los puntos, o null si no tiene. Se calcula la primera vez que se pide y luego cada append la
+     * agranda, así que las siguientes llamadas no recorren los puntos.
+     */
+    @JsonIgnore
+    public BoundingBox getBounds() {
+        BoundingBox b = bounds;
+        if (b != null || size == 0) return b;
+        // scan without the lock, then take it only to add whatever was appended meanwhile
+        PackedPoints snapshot = getPoints();
+        BoundingBox scanned = BoundingBox.of(snapshot);
+        synchronized (appendLock) {
+            if (bounds == null) {
+                long[] buffer = coords;
+                for (int i = snapshot.size(); i < size; i++) {
+                    scanned = scanned.including(PackedPoints.unpackX(buffer[i]), PackedPoints.unpackY(buffer[i]));
+                }
+                bounds = scanned;
+            }
+            return bounds;
+        }
+    }
+
+    public void addPoint(Point p) { addPoint(p.x(), p.y()); }
+
+    public void addPoint(int x, int y) {
+        synchronized (appendLock) {
+            long[] buffer = coords;
+            int n = size;
+            if (n == buffer.length || sharedCoords) {
+                buffer = Arrays.copyOf(buffer, Math.max(8, n + (n >> 1)));
+                coords = buffer;
+                sharedCoords = false;
+            }
+            buffer[n] = PackedPoints.pack(x, y);
+            BoundingBox b = bounds;
+            if (b != null) bounds = b.including(x, y);
+            size = n + 1;
+            version++;
+        }
+    }
+
+    /** Agrega todos los puntos de una vez: los lectores ven el lote completo o nada de él. */
+    public void addPoints(PackedPoints pts) {
+        int k = pts.size();
+        if (k == 0) return;
+        synchronized (appendLock) {
+            long[] buffer = coords;
+            int n = size;
+            if (n + k > buffer.length || sharedCoords) {
+                buffer = Arrays.copyOf(buffer, Math.max(8, Math.max(n + k, n + (n >> 1))));
+                coords = buffer;
+                sharedCoords = false;
+            }
+            System.arraycopy(pts.coords(), 0, buffer, n, k);
+            BoundingBox b = bounds;
+            if (b != null) bounds = b.union(BoundingBox.of(pts));
+            size = n + k;
+            version++;
+        }
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -0,0 +1,38 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posición de un listado paginado: el último (author, name) entregado. El listado sigue por las claves
+ * estrictamente mayores, así que insertar o borrar blueprints entre páginas no repite ni salta elementos.
+ * Viaja al cliente como un token opaco (Base64 URL-safe).
+ */
+public record BlueprintCursor(String author, String name) implements Comparable<BlueprintCursor> {
+
+    // NUL cannot appear in Postgres text columns, so it is a safe separator
+    private static final char SEPARATOR = '\0';
+
+    public static BlueprintCursor after(Blueprint bp) {
+        return new BlueprintCursor(bp.getAuthor(), bp.getName());
+    }
+
+    @Override
+    public int compareTo(BlueprintCursor o) {
+        int c = author.compareTo(o.author);
+        return c != 0 ? c : name.compareTo(o.name);
+    }
+
+    public String encode() {
+        byte[] raw = (author + SEPARATOR + name).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+    }
+
+    /** @throws IllegalArgumentException si el token no fue generado por {@link #encode()} */
+    public static BlueprintCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        int sep = raw.indexOf(SEPARATOR);
+        if (sep < 0) throw new IllegalArgumentException("malformed cursor");
+        return new BlueprintCursor(raw.substring(0, sep), raw.substring(sep + 1));
+    }
+}
@@ -0,0 +1,15 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Puntos agregados a un blueprint desde la posición {@code sincePoint}, tal como están guardados (sin filtros).
+ * {@code pointCount} es el total de puntos del blueprint al leerlos, y el {@code sincePoint} de la siguiente
+ * consulta; {@code version} es el contador de appends de {@link Blueprint#getVersion()}.
+ */
+public record BlueprintDelta(String author, String name, int sincePoint, int pointCount, long version,
+                             PackedPoints points) {
+
+    /** Delta de {@code all}, todos los puntos del blueprint, desde {@code sincePoint}. */
+    public static BlueprintDelta of(String author, String name, int sincePoint, PackedPoints all, long version) {
+        return new BlueprintDelta(author, name, sincePoint, all.size(), version, all.tail(sincePoint));
+    }
+}
@@ -0,0 +1,8 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.List;
+
+/**
+ * Página de un listado ordenado por (author, name). {@code nextCursor} es null en la última página.
+ */
+public record BlueprintPage(List<Blueprint> items, String nextCursor) {}
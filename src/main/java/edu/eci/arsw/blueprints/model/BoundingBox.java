@@ -0,0 +1,73 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Rectángulo alineado a los ejes, con los bordes incluidos: la caja de los puntos de un blueprint o la ventana
+ * de una consulta espacial.
+ */
+public record BoundingBox(int minX, int minY, int maxX, int maxY) {
+
+    public BoundingBox {
+        if (minX > maxX || minY > maxY) {
+            throw new IllegalArgumentException("bounding box min must not exceed max");
+        }
+    }
+
+    /** Caja de {@code points}, o null si no tiene puntos. */
+    public static BoundingBox of(PackedPoints points) {
+        int n = points.size();
+        if (n == 0) return null;
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE, maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            long p = points.packed(i);
+            int x = PackedPoints.unpackX(p), y = PackedPoints.unpackY(p);
+            minX = Math.min(minX, x);
+            minY = Math.min(minY, y);
+            maxX = Math.max(maxX, x);
+            maxY = Math.max(maxY, y);
+        }
+        return new BoundingBox(minX, minY, maxX, maxY);
+    }
+
+    /**
+     * Lee una ventana {@code minX,minY,maxX,maxY}.
+     *
+     * @throws IllegalArgumentException si no son cuatro enteros o algún mínimo supera a su máximo
+     */
+    public static BoundingBox parse(String bbox) {
+        String[] parts = bbox.split(",", -1);
+        if (parts.length != 4) throw new IllegalArgumentException("bbox must be minX,minY,maxX,maxY");
+        int[] v = new int[4];
+        for (int i = 0; i < 4; i++) {
+            try {
+                v[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bbox must be minX,minY,maxX,maxY");
+            }
+        }
+        return new BoundingBox(v[0], v[1], v[2], v[3]);
+    }
+
+    /** Esta caja agrandada lo justo para contener (x, y); la misma si ya lo contiene. */
+    public BoundingBox including(int x, int y) {
+        if (contains(x, y)) return this;
+        return new BoundingBox(Math.min(minX, x), Math.min(minY, y), Math.max(maxX, x), Math.max(maxY, y));
+    }
+
+    public BoundingBox union(BoundingBox o) {
+        if (o == null || contains(o)) return this;
+        return new BoundingBox(Math.min(minX, o.minX), Math.min(minY, o.minY),
+                Math.max(maxX, o.maxX), Math.max(maxY, o.maxY));
+    }
+
+    public boolean contains(int x, int y) {
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    public boolean contains(BoundingBox o) {
+        return o.minX >= minX && o.maxX <= maxX && o.minY >= minY && o.maxY <= maxY;
+    }
+
+    public boolean intersects(BoundingBox o) {
+        return o.minX <= maxX && o.maxX >= minX && o.minY <= maxY && o.maxY >= minY;
+    }
+}
@@ -0,0 +1,6 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Un blueprint leído de una importación masiva junto con su número de registro (línea) en la entrada.
+ */
+public record ImportRecord(long line, Blueprint blueprint) {}
@@ -0,0 +1,6 @@
+package edu.eci.arsw.blueprints.model;
+
+/**
+ * Registro de una importación que no se guardó: ya existía, se repetía dentro de la entrada o era inválido.
+ */
+public record ImportRejection(long line, String author, String name, String reason) {}
@@ -0,0 +1,25 @@
+package edu.eci.arsw.blueprints.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Resultado de una importación masiva. {@code rejections} lista a lo sumo {@link #MAX_LISTED} rechazos, los de
+ * menor número de línea; {@code rejected} es el total.
+ */
+public record ImportReport(long imported, long points, long rejected, List<ImportRejection> rejections) {
+
+    public static final int MAX_LISTED = 1000;
+
+    /** Suma otro reporte (p. ej. los rechazos detectados antes de llegar al almacenamiento). */
+    public ImportReport plus(ImportReport other) {
+        List<ImportRejection> merged = new ArrayList<>(rejections.size() + other.rejections.size());
+        merged.addAll(rejections);
+        merged.addAll(other.rejections);
+        merged.sort(Comparator.comparingLong(ImportRejection::line));
+        if (merged.size() > MAX_LISTED) merged = merged.subList(0, MAX_LISTED);
+        return new ImportReport(imported + other.imported, points + other.points, rejected + other.rejected,
+                List.copyOf(merged));
+    }
+}
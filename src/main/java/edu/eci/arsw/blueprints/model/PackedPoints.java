@@ -0,0 +1,67 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Lista inmutable de puntos empaquetados en un {@code long[]}: x en los 32 bits altos, y en los bajos.
+ * Ocupa 8 bytes por punto; {@link #get(int)} crea el {@link Point} solo cuando se pide, y los filtros
+ * y serializadores pueden leer {@link #x(int)}, {@link #y(int)} o {@link #packed(int)} sin crear objetos.
+ */
+@JsonSerialize(using = PackedPointsSerializer.class)
+public final class PackedPoints extends AbstractList<Point> implements RandomAccess {
+
+    public static final PackedPoints EMPTY = new PackedPoints(new long[0], 0);
+
+    private final long[] coords;
+    private final int size;
+
+    /**
+     * Envuelve {@code coords[0, size)} sin copiarlo: quien lo crea no debe modificar ese rango después.
+     */
+    public PackedPoints(long[] coords, int size) {
+        Objects.checkFromIndexSize(0, size, coords.length);
+        this.coords = coords;
+        this.size = size;
+    }
+
+    public static PackedPoints of(List<Point> points) {
+        if (points instanceof PackedPoints packed) return packed;
+        long[] coords = new long[points.size()];
+        int i = 0;
+        for (Point p : points) coords[i++] = pack(p.x(), p.y());
+        return new PackedPoints(coords, coords.length);
+    }
+
+    public static long pack(int x, int y) { return ((long) x << 32) | (y & 0xFFFFFFFFL); }
+    public static int unpackX(long packed) { return (int) (packed >> 32); }
+    public static int unpackY(long packed) { return (int) packed; }
+
+    public long packed(int i) { return coords[Objects.checkIndex(i, size)]; }
+    public int x(int i) { return unpackX(packed(i)); }
+    public int y(int i) { return unpackY(packed(i)); }
+
+    /** Copia de los puntos desde {@code from} (vacía si {@code from >= size()}). */
+    public PackedPoints tail(int from) {
+        if (from >= size) return EMPTY;
+        long[] tail = Arrays.copyOfRange(coords, Objects.checkIndex(from, size), size);
+        return new PackedPoints(tail, tail.length);
+    }
+
+    @Override
+    public Point get(int i) {
+        long p = packed(i);
+        return new Point(unpackX(p), unpackY(p));
+    }
+
+    @Override
+    public int size() { return size; }
+
+    // Shared with Blueprint so it can adopt the array without copying
+    long[] coords() { return coords; }
+}
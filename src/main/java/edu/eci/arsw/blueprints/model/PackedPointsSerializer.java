@@ -0,0 +1,29 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * Escribe {@code [{"x":..,"y":..},...]} directamente desde el arreglo empaquetado, sin crear un {@link Point} por elemento.
+ */
+public class PackedPointsSerializer extends StdSerializer<PackedPoints> {
+
+    public PackedPointsSerializer() { super(PackedPoints.class); }
+
+    @Override
+    public void serialize(PackedPoints points, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        int n = points.size();
+        gen.writeStartArray(points, n);
+        for (int i = 0; i < n; i++) {
+            long p = points.packed(i);
+            gen.writeStartObject();
+            gen.writeNumberField("x", PackedPoints.unpackX(p));
+            gen.writeNumberField("y", PackedPoints.unpackY(p));
+            gen.writeEndObject();
+        }
+        gen.writeEndArray();
+    }
+}
@@ -0,0 +1,102 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Índice espacial de blueprints por su {@link Blueprint#getBounds() caja}: una grilla jerárquica cuyo nivel L
+ * tiene celdas de 2^L x 2^L. Cada blueprint vive en el nivel más fino en el que su caja ocupa a lo sumo 2x2
+ * celdas, registrado en la celda de su esquina mínima; una ventana revisa en cada nivel las celdas que cubre más
+ * una hacia la izquierda y hacia abajo. Como las cajas solo crecen, {@link #update} lo mueve cuando deja de caber.
+ * Las lecturas no toman locks.
+ */
+class BlueprintGrid {
+
+    // at level 31 the int plane is 2x2 cells, so every box fits somewhere
+    private static final int LEVELS = 32;
+
+    // Occupied cells of each level in column order (see key), so a window visits each of its columns with one seek
+    private final ConcurrentNavigableMap<Long, Set<Blueprint>>[] levels;
+    private final Map<Blueprint, Cell> cellOf = new ConcurrentHashMap<>();
+
+    BlueprintGrid() {
+        // no generic array creation in Java: the raw array is only ever filled with typed maps
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        ConcurrentNavigableMap<Long, Set<Blueprint>>[] maps = new ConcurrentNavigableMap[LEVELS];
+        for (int i = 0; i < LEVELS; i++) maps[i] = new ConcurrentSkipListMap<>();
+        levels = maps;
+    }
+
+    /** Registra el blueprint o, si su caja creció fuera de su celda, lo cambia de celda. Sin puntos no se indexa. */
+    void update(Blueprint bp) {
+        BoundingBox box = bp.getBounds();
+        if (box == null || cellFor(box).equals(cellOf.get(bp))) return;
+        // cell changes are rare (a box has to double to leave its level), so they share one lock
+        synchronized (this) {
+            Cell cell = cellFor(bp.getBounds());
+            Cell old = cellOf.get(bp);
+            if (cell.equals(old)) return;
+            // added to the new cell before leaving the old one, so queries never miss it in between
+            levels[cell.level()].computeIfAbsent(cell.key(), k -> ConcurrentHashMap.newKeySet()).add(bp);
+            if (old != null) {
+                Set<Blueprint> members = levels[old.level()].get(old.key());
+                members.remove(bp);
+                if (members.isEmpty()) levels[old.level()].remove(old.key());
+            }
+            cellOf.put(bp, cell);
+        }
+    }
+
+    /** Blueprints cuya caja actual se cruza con {@code window}. */
+    Set<Blueprint> intersecting(BoundingBox window) {
+        Set<Blueprint> found = new HashSet<>();
+        for (int level = 0; level < LEVELS; level++) {
+            ConcurrentNavigableMap<Long, Set<Blueprint>> cells = levels[level];
+            if (cells.isEmpty()) continue;
+            long x0 = Math.max(Integer.MIN_VALUE, ((long) window.minX() >> level) - 1);
+            long y0 = Math.max(Integer.MIN_VALUE, ((long) window.minY() >> level) - 1);
+            long x1 = (long) window.maxX() >> level;
+            long y1 = (long) window.maxY() >> level;
+            // jump from one occupied column to the next, reading only the [y0, y1] run of each
+            Map.Entry<Long, Set<Blueprint>> e = cells.ceilingEntry(key(x0, y0));
+            while (e != null) {
+                long cx = e.getKey() >> 32;
+                if (cx > x1) break;
+                for (Set<Blueprint> members : cells.subMap(key(cx, y0), true, key(cx, y1), true).values()) {
+                    collect(members, window, found);
+                }
+                e = cx == x1 ? null : cells.ceilingEntry(key(cx + 1, y0));
+            }
+        }
+        return found;
+    }
+
+    private static void collect(Set<Blueprint> members, BoundingBox window, Set<Blueprint> found) {
+        for (Blueprint bp : members) {
+            if (bp.getBounds().intersects(window)) found.add(bp);
+        }
+    }
+
+    static Cell cellFor(BoundingBox box) {
+        int level = 0;
+        while ((((long) box.maxX() >> level) - ((long) box.minX() >> level)) > 1
+                || (((long) box.maxY() >> level) - ((long) box.minY() >> level)) > 1) {
+            level++;
+        }
+        return new Cell(level, key((long) box.minX() >> level, (long) box.minY() >> level));
+    }
+
+    // cx in the high half and cy offset to unsigned in the low half: signed long order is (cx, cy) order
+    private static long key(long cx, long cy) {
+        return (cx << 32) | (cy - Integer.MIN_VALUE);
+    }
+
+    record Cell(int level, long key) { }
+}
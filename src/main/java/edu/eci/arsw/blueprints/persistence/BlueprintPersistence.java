@@ -1,7 +1,16 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.Point;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface BlueprintPersistence {
 
@@ -9,9 +18,39 @@ public interface BlueprintPersistence {
 
     Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException;
 
+    /**
+     * Puntos desde la posición {@code sincePoint} (vacío si el blueprint no tiene más), leídos sin cargar los
+     * anteriores, junto con el total y la versión. La versión nunca es posterior a los puntos devueltos.
+     */
+    BlueprintDelta getPointsSince(String author, String name, int sincePoint) throws BlueprintNotFoundException;
+
     Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException;
 
     Set<Blueprint> getAllBlueprints();
 
+    /**
+     * Hasta {@code limit} blueprints en orden (author, name), estrictamente posteriores a {@code after}
+     * ({@code null} = desde el inicio). Con {@code withPoints = false} se devuelven sin puntos.
+     */
+    List<Blueprint> getBlueprintsPage(BlueprintCursor after, int limit, boolean withPoints);
+
+    /**
+     * Blueprints cuya caja de puntos se cruza con {@code window} (bordes incluidos), en orden (author, name),
+     * con todos sus puntos o, con {@code withPoints = false}, sin ellos. Los blueprints sin puntos no aparecen.
+     */
+    List<Blueprint> getBlueprintsIntersecting(BoundingBox window, boolean withPoints);
+
+    /**
+     * Guarda en bloque los blueprints que aún no existen; los que ya existen o se repiten dentro de
+     * {@code records} se reportan como rechazados. {@code records} se recorre una sola vez.
+     */
+    ImportReport importBlueprints(Iterator<ImportRecord> records) throws BlueprintPersistenceException;
+
+    /** Entrega cada blueprint a {@code action} sin cargarlos todos a la vez en memoria. */
+    void forEachBlueprint(Consumer<Blueprint> action);
+
     void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException;
+
+    /** Agrega los puntos al final, en orden y como una sola operación. */
+    void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException;
 }
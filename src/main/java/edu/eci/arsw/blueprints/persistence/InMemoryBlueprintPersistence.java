@@ -1,18 +1,33 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.ImportRejection;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.BlueprintAlreadyExistsException;
 import org.springframework.stereotype.Repository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
 
 @Repository
 public class InMemoryBlueprintPersistence implements BlueprintPersistence {
 
-    private final Map<String, Blueprint> blueprints = new ConcurrentHashMap<>();
+    // author -> name -> blueprint: lookups hash the two path segments directly, no composite key is built,
+    // and the inner map doubles as the per-author index
+    private final Map<String, Map<String, Blueprint>> blueprints = new ConcurrentHashMap<>();
+    // Same blueprints in (author, name) order, only for keyset pages so lookups keep hashing.
+    // Written after the hash maps, so a blueprint can reach pages a moment after it is readable.
+    private final NavigableMap<BlueprintCursor, Blueprint> ordered = new ConcurrentSkipListMap<>();
+    // Bounding boxes for window queries, updated after each write like ordered
+    private final BlueprintGrid grid = new BlueprintGrid();
 
     public InMemoryBlueprintPersistence() {
         // Sample data 1:1 style (author/name key)
@@ -22,45 +37,112 @@ public class InMemoryBlueprintPersistence implements BlueprintPersistence {
                 List.of(new Point(5,5), new Point(15,5), new Point(15,15)));
         Blueprint bp3 = new Blueprint("jane", "garden",
                 List.of(new Point(2,2), new Point(3,4), new Point(6,7)));
-        blueprints.put(keyOf(bp1), bp1);
-        blueprints.put(keyOf(bp2), bp2);
-        blueprints.put(keyOf(bp3), bp3);
+        for (Blueprint bp : List.of(bp1, bp2, bp3)) {
+            namesOf(bp.getAuthor()).put(bp.getName(), bp);
+            ordered.put(BlueprintCursor.after(bp), bp);
+            grid.update(bp);
+        }
     }
 
-    private String keyOf(Blueprint bp) { return bp.getAuthor() + ":" + bp.getName(); }
-    private String keyOf(String author, String name) { return author + ":" + name; }
+    private Map<String, Blueprint> namesOf(String author) {
+        Map<String, Blueprint> names = blueprints.get(author);
+        return names != null ? names : blueprints.computeIfAbsent(author, a -> new ConcurrentHashMap<>());
+    }
 
     @Override
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        String k = keyOf(bp);
-        if (blueprints.containsKey(k)) throw new BlueprintAlreadyExistsException("Blueprint already exists: " + k);
-        blueprints.put(k, bp);
+        if (namesOf(bp.getAuthor()).putIfAbsent(bp.getName(), bp) != null) {
+            throw new BlueprintAlreadyExistsException("Blueprint already exists: %s/%s".formatted(bp.getAuthor(), bp.getName()));
+        }
+        ordered.put(BlueprintCursor.after(bp), bp);
+        grid.update(bp);
     }
 
     @Override
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        Blueprint bp = blueprints.get(keyOf(author, name));
+        Map<String, Blueprint> names = blueprints.get(author);
+        Blueprint bp = names == null ? null : names.get(name);
         if (bp == null) throw new BlueprintNotFoundException("Blueprint not found: %s/%s".formatted(author, name));
         return bp;
     }
 
+    @Override
+    public BlueprintDelta getPointsSince(String author, String name, int sincePoint) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        // appends publish the size before bumping the version, so the snapshot taken after holds this version
+        long version = bp.getVersion();
+        return BlueprintDelta.of(author, name, sincePoint, bp.getPoints(), version);
+    }
+
     @Override
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        Set<Blueprint> set = blueprints.values().stream()
-                .filter(bp -> bp.getAuthor().equals(author))
-                .collect(Collectors.toSet());
-        if (set.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
-        return set;
+        Map<String, Blueprint> names = blueprints.get(author);
+        if (names == null || names.isEmpty()) throw new BlueprintNotFoundException("No blueprints for author: " + author);
+        return new HashSet<>(names.values());
     }
 
     @Override
     public Set<Blueprint> getAllBlueprints() {
-        return new HashSet<>(blueprints.values());
+        Set<Blueprint> all = new HashSet<>();
+        for (Map<String, Blueprint> names : blueprints.values()) all.addAll(names.values());
+        return all;
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsPage(BlueprintCursor after, int limit, boolean withPoints) {
+        Collection<Blueprint> from = after == null ? ordered.values() : ordered.tailMap(after, false).values();
+        List<Blueprint> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Blueprint bp : from) {
+            if (page.size() == limit) break;
+            page.add(withPoints ? bp : new Blueprint(bp.getAuthor(), bp.getName(), PackedPoints.EMPTY, bp.getVersion()));
+        }
+        return page;
+    }
+
+    @Override
+    public List<Blueprint> getBlueprintsIntersecting(BoundingBox window, boolean withPoints) {
+        List<Blueprint> found = new ArrayList<>(grid.intersecting(window));
+        found.sort(Comparator.comparing(Blueprint::getAuthor).thenComparing(Blueprint::getName));
+        if (!withPoints) found.replaceAll(bp -> new Blueprint(bp.getAuthor(), bp.getName(), PackedPoints.EMPTY, bp.getVersion()));
+        return found;
+    }
+
+    @Override
+    public ImportReport importBlueprints(Iterator<ImportRecord> records) throws BlueprintPersistenceException {
+        long imported = 0, points = 0, rejected = 0;
+        List<ImportRejection> rejections = new ArrayList<>();
+        while (records.hasNext()) {
+            ImportRecord record = records.next();
+            Blueprint bp = record.blueprint();
+            try {
+                saveBlueprint(bp);
+                imported++;
+                points += bp.getPoints().size();
+            } catch (BlueprintAlreadyExistsException e) {
+                if (rejected++ < ImportReport.MAX_LISTED) {
+                    rejections.add(new ImportRejection(record.line(), bp.getAuthor(), bp.getName(), "already exists"));
+                }
+            }
+        }
+        return new ImportReport(imported, points, rejected, List.copyOf(rejections));
+    }
+
+    @Override
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        ordered.values().forEach(action);
     }
 
     @Override
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
         Blueprint bp = getBlueprint(author, name);
-        bp.addPoint(new Point(x, y));
+        bp.addPoint(x, y);
+        grid.update(bp);
+    }
+
+    @Override
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        Blueprint bp = getBlueprint(author, name);
+        bp.addPoints(PackedPoints.of(points));
+        grid.update(bp);
     }
 }
@@ -0,0 +1,94 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+
+import java.util.Arrays;
+
+/**
+ * Codificación compacta de puntos para la columna {@code blueprints.point_data}: por cada punto, la diferencia
+ * de x y de y con el punto anterior (el primero respecto a (0, 0)) en zigzag + varint. Un trazo típico, con
+ * pasos pequeños, ocupa 2 bytes por punto en lugar de una fila de {@code points}.
+ */
+public final class PointCodec {
+
+    private PointCodec() { }
+
+    public static byte[] encode(PackedPoints points) {
+        return append(new byte[0], 0, points);
+    }
+
+    /**
+     * Agrega {@code tail} al final de {@code data}, que codifica {@code count} puntos, sin decodificarlos a un arreglo.
+     */
+    public static byte[] append(byte[] data, int count, PackedPoints tail) {
+        long last = lastPoint(data, count);
+        int x = PackedPoints.unpackX(last), y = PackedPoints.unpackY(last);
+        int n = tail.size();
+        byte[] out = Arrays.copyOf(data, data.length + n * 4 + 10);
+        int pos = data.length;
+        for (int i = 0; i < n; i++) {
+            if (pos + 10 > out.length) out = Arrays.copyOf(out, out.length + (out.length >> 1) + 10);
+            long p = tail.packed(i);
+            int nx = PackedPoints.unpackX(p), ny = PackedPoints.unpackY(p);
+            // int deltas may overflow; decoding adds them back with the same wrap-around
+            pos = writeVarint(out, pos, zigzag(nx - x));
+            pos = writeVarint(out, pos, zigzag(ny - y));
+            x = nx;
+            y = ny;
+        }
+        return Arrays.copyOf(out, pos);
+    }
+
+    /**
+     * Decodifica los {@code count} puntos de {@code data} en un arreglo de al menos {@code capacity} posiciones,
+     * para que quien llama agregue más puntos detrás sin volver a copiar.
+     */
+    public static long[] decode(byte[] data, int count, int capacity) {
+        long[] coords = new long[Math.max(count, capacity)];
+        walk(data, count, coords);
+        return coords;
+    }
+
+    private static long lastPoint(byte[] data, int count) {
+        return walk(data, count, null);
+    }
+
+    // Decodes count points into coords (when not null) and returns the last one, or (0, 0) if there are none
+    private static long walk(byte[] data, int count, long[] coords) {
+        int pos = 0, x = 0, y = 0;
+        for (int i = 0; i < count; i++) {
+            int v = 0, shift = 0;
+            byte b;
+            do {
+                b = data[pos++];
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            x += (v >>> 1) ^ -(v & 1);
+            v = 0;
+            shift = 0;
+            do {
+                b = data[pos++];
+                v |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            y += (v >>> 1) ^ -(v & 1);
+            if (coords != null) coords[i] = PackedPoints.pack(x, y);
+        }
+        if (pos != data.length) throw new IllegalArgumentException("point data does not hold exactly " + count + " points");
+        return PackedPoints.pack(x, y);
+    }
+
+    private static int zigzag(int v) {
+        return (v << 1) ^ (v >> 31);
+    }
+
+    private static int writeVarint(byte[] out, int pos, int v) {
+        while ((v & ~0x7F) != 0) {
+            out[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out[pos++] = (byte) v;
+        return pos;
+    }
+}
@@ -0,0 +1,165 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.ImportRejection;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Importación masiva con COPY: los registros se copian a una tabla temporal y luego se fusionan en
+ * {@code blueprints}/{@code points} con sentencias de conjunto, dentro de la transacción de quien llama.
+ * La tabla de staging tiene una fila de cabecera por blueprint (author, name y su caja). Con {@code encodePoints}
+ * la cabecera lleva además los puntos codificados ({@link PointCodec}) y se guardan en {@code point_data}; si no,
+ * hay una fila por punto que termina en {@code points}.
+ */
+class PostgresBlueprintImporter {
+
+    private static final String CREATE_STAGING = """
+        CREATE TEMP TABLE import_rows (seq BIGINT NOT NULL, author TEXT, name TEXT, point_count INT,
+                                       min_x INT, min_y INT, max_x INT, max_y INT, point_data BYTEA,
+                                       x INT, y INT, point_order INT) ON COMMIT DROP;
+        CREATE TEMP TABLE import_ids (seq BIGINT PRIMARY KEY, id BIGINT NOT NULL, point_count INT NOT NULL) ON COMMIT DROP""";
+
+    private static final String COPY_ROWS = "COPY import_rows FROM STDIN";
+
+    // First occurrence of each (author, name) in the input wins; existing blueprints are left untouched
+    private static final String MERGE_BLUEPRINTS = """
+        WITH candidates AS (
+            SELECT DISTINCT ON (author, name) seq, author, name, point_count, min_x, min_y, max_x, max_y, point_data
+            FROM import_rows WHERE author IS NOT NULL ORDER BY author, name, seq),
+        inserted AS (
+            INSERT INTO blueprints (author, name, version, point_count, packed_count, point_data,
+                                    min_x, min_y, max_x, max_y)
+            SELECT author, name, 0, point_count, CASE WHEN point_data IS NULL THEN 0 ELSE point_count END, point_data,
+                   min_x, min_y, max_x, max_y
+            FROM candidates ORDER BY seq
+            ON CONFLICT (author, name) DO NOTHING
+            RETURNING id, author, name, point_count)
+        INSERT INTO import_ids SELECT c.seq, i.id, i.point_count FROM inserted i JOIN candidates c USING (author, name)""";
+
+    // Only without encodePoints. The foreign key on points.blueprint_id is still checked row by row (PostgreSQL has
+    // no set-based RI check), which is most of this statement's time; rows go in index order at least
+    private static final String MERGE_POINTS = """
+        INSERT INTO points (blueprint_id, x, y, point_order)
+        SELECT i.id, r.x, r.y, r.point_order FROM import_rows r JOIN import_ids i USING (seq)
+        WHERE r.author IS NULL ORDER BY i.id, r.point_order""";
+
+    private static final String IMPORTED = "SELECT COUNT(*), COALESCE(SUM(point_count), 0) FROM import_ids";
+
+    private static final String REJECTED = """
+        SELECT r.seq, r.author, r.name, COUNT(*) OVER () FROM import_rows r
+        WHERE r.author IS NOT NULL AND NOT EXISTS (SELECT 1 FROM import_ids i WHERE i.seq = r.seq)
+        ORDER BY r.seq LIMIT""" + " " + ImportReport.MAX_LISTED;
+
+    private static final int COPY_BUFFER = 1 << 16;
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final boolean encodePoints;
+
+    PostgresBlueprintImporter(boolean encodePoints) {
+        this.encodePoints = encodePoints;
+    }
+
+    ImportReport importInto(Connection connection, Iterator<ImportRecord> records) throws SQLException, IOException {
+        try (Statement st = connection.createStatement()) {
+            st.execute(CREATE_STAGING);
+        }
+        PGConnection pg = connection.unwrap(PGConnection.class);
+        try (OutputStream out = new PGCopyOutputStream(pg, COPY_ROWS, COPY_BUFFER)) {
+            StringBuilder rows = new StringBuilder(COPY_BUFFER);
+            while (records.hasNext()) {
+                appendRows(rows, records.next(), encodePoints);
+                if (rows.length() >= COPY_BUFFER) flush(rows, out);
+            }
+            flush(rows, out);
+        }
+        try (Statement st = connection.createStatement()) {
+            st.execute("ANALYZE import_rows"); // temp tables are never auto-analyzed
+            st.executeUpdate(MERGE_BLUEPRINTS);
+            if (!encodePoints) st.executeUpdate(MERGE_POINTS);
+            long imported, points;
+            try (ResultSet rs = st.executeQuery(IMPORTED)) {
+                rs.next();
+                imported = rs.getLong(1);
+                points = rs.getLong(2);
+            }
+            List<ImportRejection> rejections = new ArrayList<>();
+            long rejected = 0;
+            try (ResultSet rs = st.executeQuery(REJECTED)) {
+                while (rs.next()) {
+                    rejections.add(new ImportRejection(rs.getLong(1), rs.getString(2), rs.getString(3), "already exists"));
+                    rejected = rs.getLong(4);
+                }
+            }
+            return new ImportReport(imported, points, rejected, List.copyOf(rejections));
+        }
+    }
+
+    // COPY text format: tab-separated columns, \N for null
+    private static void appendRows(StringBuilder rows, ImportRecord record, boolean encodePoints) {
+        Blueprint bp = record.blueprint();
+        PackedPoints points = bp.getPoints();
+        int n = points.size();
+        rows.append(record.line()).append('\t');
+        appendText(rows, bp.getAuthor());
+        rows.append('\t');
+        appendText(rows, bp.getName());
+        rows.append('\t').append(n).append('\t');
+        BoundingBox box = BoundingBox.of(points);
+        if (box == null) {
+            rows.append("\\N\t\\N\t\\N\t\\N");
+        } else {
+            rows.append(box.minX()).append('\t').append(box.minY()).append('\t')
+                .append(box.maxX()).append('\t').append(box.maxY());
+        }
+        if (encodePoints && n > 0) {
+            // bytea in hex format, with its backslash escaped for COPY
+            HEX.formatHex(rows.append("\t\\\\x"), PointCodec.encode(points));
+        } else {
+            rows.append("\t\\N");
+        }
+        rows.append("\t\\N\t\\N\t\\N\n");
+        if (encodePoints) return;
+        for (int i = 0; i < n; i++) {
+            long p = points.packed(i);
+            rows.append(record.line()).append("\t\\N\t\\N\t\\N\t\\N\t\\N\t\\N\t\\N\t\\N\t")
+                .append(PackedPoints.unpackX(p)).append('\t')
+                .append(PackedPoints.unpackY(p)).append('\t')
+                .append(i).append('\n');
+        }
+    }
+
+    private static void appendText(StringBuilder rows, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> rows.append("\\\\");
+                case '\t' -> rows.append("\\t");
+                case '\n' -> rows.append("\\n");
+                case '\r' -> rows.append("\\r");
+                default -> rows.append(c);
+            }
+        }
+    }
+
+    private static void flush(StringBuilder rows, OutputStream out) throws IOException {
+        out.write(rows.toString().getBytes(StandardCharsets.UTF_8));
+        rows.setLength(0);
+    }
+}
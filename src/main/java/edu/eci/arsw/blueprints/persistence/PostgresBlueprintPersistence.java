@@ -1,55 +1,153 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.entities.BlueprintEntity;
 import edu.eci.arsw.blueprints.persistence.entities.PointEntity;
+import edu.eci.arsw.blueprints.persistence.repository.BlueprintHeader;
 import edu.eci.arsw.blueprints.persistence.repository.BlueprintRepository;
 import edu.eci.arsw.blueprints.persistence.BlueprintAlreadyExistsException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Almacenamiento en PostgreSQL. Los primeros {@code packed_count} puntos de un blueprint pueden estar codificados
+ * en {@code blueprints.point_data} ({@link PointCodec}) y el resto son filas de {@code points}; ver
+ * {@link PostgresPointCompactor}. Las lecturas de más de una sentencia usan REPEATABLE READ para que una
+ * compactación concurrente no les haga ver puntos repetidos o faltantes.
+ */
 @Repository
 @Primary
 public class PostgresBlueprintPersistence implements BlueprintPersistence {
 
+    // Reserves point_order [first, first + n) under the blueprint's row lock, held until commit
+    // and widens the bounding box by the batch's own box
+    private static final String RESERVE_POINT_ORDERS =
+        "UPDATE blueprints SET point_count = point_count + ?, version = version + 1, "
+            + "min_x = LEAST(min_x, ?), min_y = LEAST(min_y, ?), max_x = GREATEST(max_x, ?), max_y = GREATEST(max_y, ?) "
+            + "WHERE author = ? AND name = ? RETURNING id, point_count - ?";
+    // Conflict detection and insert in one atomic statement: no row comes back if (author, name) is taken
+    private static final String INSERT_BLUEPRINT =
+        "INSERT INTO blueprints (author, name, version, point_count, packed_count, point_data, min_x, min_y, max_x, max_y) "
+            + "VALUES (?, ?, 0, ?, ?, ?, ?, ?, ?, ?) "
+            + "ON CONFLICT (author, name) DO NOTHING RETURNING id";
+    private static final String SELECT_POINT_DATA = "SELECT id, point_data FROM blueprints WHERE id = ANY (?)";
+    // point_data only when the requested range starts inside the encoded points
+    private static final String SELECT_DELTA_HEADER =
+        "SELECT id, version, point_count, packed_count, CASE WHEN packed_count > ? THEN point_data END "
+            + "FROM blueprints WHERE author = ? AND name = ?";
+    // A range scan of points_blueprint_order_idx: only the rows from the requested point_order on are read
+    static final String SELECT_POINTS_FROM =
+        "SELECT x, y FROM points WHERE blueprint_id = ? AND point_order >= ? ORDER BY point_order";
+    private static final String INSERT_POINT =
+        "INSERT INTO points (blueprint_id, x, y, point_order) VALUES (?, ?, ?, ?)";
+
     private final BlueprintRepository blueprintRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PostgresBlueprintImporter importer;
+    // Blueprints created with at least this many points are stored encoded right away; 0 turns encoding off
+    private final int packedMinPoints;
 
-    public PostgresBlueprintPersistence(BlueprintRepository blueprintRepository) {
+    public PostgresBlueprintPersistence(BlueprintRepository blueprintRepository, JdbcTemplate jdbcTemplate,
+                                        @Value("${blueprints.point-storage.packed-min-points:10000}") int packedMinPoints) {
         this.blueprintRepository = blueprintRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.packedMinPoints = packedMinPoints;
+        // with encoding on, imports encode every blueprint whatever its size: no points rows means no row-by-row
+        // foreign key checks, which took most of a large import
+        this.importer = new PostgresBlueprintImporter(packedMinPoints > 0);
     }
 
     @Override
     @Transactional
     public void saveBlueprint(Blueprint bp) throws BlueprintPersistenceException {
-        if (blueprintRepository.existsByAuthorAndName(bp.getAuthor(), bp.getName())) {
+        PackedPoints points = bp.getPoints();
+        boolean packed = packedMinPoints > 0 && points.size() >= packedMinPoints;
+        BoundingBox box = BoundingBox.of(points);
+        Long id = jdbcTemplate.query(INSERT_BLUEPRINT, rs -> rs.next() ? rs.getLong(1) : null,
+            bp.getAuthor(), bp.getName(), points.size(), packed ? points.size() : 0,
+            packed ? PointCodec.encode(points) : null,
+            box == null ? null : box.minX(), box == null ? null : box.minY(),
+            box == null ? null : box.maxX(), box == null ? null : box.maxY());
+        if (id == null) {
             throw new BlueprintAlreadyExistsException(
                 "Blueprint already exists: " + bp.getAuthor() + "/" + bp.getName()
             );
         }
-
-        BlueprintEntity entity = toEntity(bp);
-        blueprintRepository.save(entity);
+        if (!packed) insertPoints(id, points, 0);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
         BlueprintEntity entity = blueprintRepository.findByAuthorAndName(author, name)
             .orElseThrow(() -> new BlueprintNotFoundException(
                 "Blueprint not found: " + author + "/" + name
             ));
 
-        return toDomain(entity);
+        return toDomain(entity, entity.getPackedCount() == 0 ? null : pointData(List.of(entity)).get(entity.getId()));
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BlueprintDelta getPointsSince(String author, String name, int sincePoint) throws BlueprintNotFoundException {
+        Object[] header = jdbcTemplate.query(SELECT_DELTA_HEADER, rs -> rs.next()
+            ? new Object[] {rs.getLong(1), rs.getLong(2), rs.getInt(3), rs.getInt(4), rs.getBytes(5)} : null,
+            sincePoint, author, name);
+        if (header == null) {
+            throw new BlueprintNotFoundException(
+                "Blueprint not found: " + author + "/" + name
+            );
+        }
+        long id = (Long) header[0];
+        int count = (Integer) header[2];
+        int packed = (Integer) header[3];
+        if (sincePoint >= count) {
+            return new BlueprintDelta(author, name, sincePoint, count, (Long) header[1], PackedPoints.EMPTY);
+        }
+        long[] coords = new long[count - sincePoint];
+        int[] n = {0};
+        if (sincePoint < packed) {
+            // only for clients that fell behind a compaction: the encoded points are decoded from the start
+            long[] decoded = PointCodec.decode((byte[]) header[4], packed, packed);
+            System.arraycopy(decoded, sincePoint, coords, 0, packed - sincePoint);
+            n[0] = packed - sincePoint;
+        }
+        jdbcTemplate.query(SELECT_POINTS_FROM, rs -> {
+            coords[n[0]++] = PackedPoints.pack(rs.getInt(1), rs.getInt(2));
+        }, id, Math.max(sincePoint, packed));
+        return new BlueprintDelta(author, name, sincePoint, count, (Long) header[1], new PackedPoints(coords, n[0]));
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
         Set<BlueprintEntity> entities = blueprintRepository.findByAuthor(author);
         
@@ -57,54 +155,180 @@ public class PostgresBlueprintPersistence implements BlueprintPersistence {
             throw new BlueprintNotFoundException("No blueprints found for author: " + author);
         }
 
+        return toDomainSet(entities);
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public Set<Blueprint> getAllBlueprints() {
+        return toDomainSet(blueprintRepository.findAll());
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<Blueprint> getBlueprintsPage(BlueprintCursor after, int limit, boolean withPoints) {
+        if (!withPoints) {
+            List<BlueprintHeader> headers = after == null
+                ? blueprintRepository.findFirstHeaderPage(limit)
+                : blueprintRepository.findHeaderPageAfter(after.author(), after.name(), limit);
+            return headers.stream()
+                .map(h -> new Blueprint(h.getAuthor(), h.getName(), PackedPoints.EMPTY, h.getVersion()))
+                .toList();
+        }
+        List<BlueprintEntity> entities = after == null
+            ? blueprintRepository.findFirstPage(limit)
+            : blueprintRepository.findPageAfter(after.author(), after.name(), limit);
+        Map<Long, byte[]> data = pointData(entities);
+        return entities.stream()
+            .map(e -> toDomain(e, data.get(e.getId())))
+            .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public List<Blueprint> getBlueprintsIntersecting(BoundingBox window, boolean withPoints) {
+        if (!withPoints) {
+            return blueprintRepository.findHeadersIntersecting(window.minX(), window.minY(), window.maxX(), window.maxY())
+                .stream()
+                .map(h -> new Blueprint(h.getAuthor(), h.getName(), PackedPoints.EMPTY, h.getVersion()))
+                .toList();
+        }
+        List<BlueprintEntity> entities =
+            blueprintRepository.findIntersecting(window.minX(), window.minY(), window.maxX(), window.maxY());
+        Map<Long, byte[]> data = pointData(entities);
         return entities.stream()
-            .map(this::toDomain)
-            .collect(Collectors.toSet());
+            .map(e -> toDomain(e, data.get(e.getId())))
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public ImportReport importBlueprints(Iterator<ImportRecord> records) throws BlueprintPersistenceException {
+        try {
+            return jdbcTemplate.execute((ConnectionCallback<ImportReport>) con -> {
+                try {
+                    return importer.importInto(con, records);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw new BlueprintPersistenceException("Import failed: " + e.getCause().getMessage());
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Set<Blueprint> getAllBlueprints() {
-        return blueprintRepository.findAll().stream()
-            .map(this::toDomain)
-            .collect(Collectors.toSet());
+    public void forEachBlueprint(Consumer<Blueprint> action) {
+        // Rows arrive grouped by blueprint; one reusable buffer holds the current blueprint's points
+        try (Stream<Object[]> rows = blueprintRepository.streamAllPointRows()) {
+            Iterator<Object[]> it = rows.iterator();
+            Object[] head = null;
+            long[] buffer = new long[256];
+            int n = 0;
+            while (it.hasNext()) {
+                Object[] row = it.next();
+                if (head == null || !row[0].equals(head[0])) {
+                    if (head != null) action.accept(toDomain(head, buffer, n));
+                    head = row;
+                    n = ((Number) row[6]).intValue();
+                    if (n > 0) buffer = PointCodec.decode((byte[]) row[7], n, Math.max(buffer.length, n + 256));
+                }
+                if (row[4] == null) continue;
+                if (n == buffer.length) buffer = Arrays.copyOf(buffer, n * 2);
+                buffer[n++] = PackedPoints.pack((Integer) row[4], (Integer) row[5]);
+            }
+            if (head != null) action.accept(toDomain(head, buffer, n));
+        }
     }
 
     @Override
     @Transactional
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
-        BlueprintEntity entity = blueprintRepository.findByAuthorAndName(author, name)
-            .orElseThrow(() -> new BlueprintNotFoundException(
+        if (blueprintRepository.appendPoint(author, name, x, y) == 0) {
+            throw new BlueprintNotFoundException(
                 "Blueprint not found: " + author + "/" + name
-            ));
+            );
+        }
+    }
 
-        int nextOrder = entity.getPoints().size();
+    @Override
+    @Transactional
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        PackedPoints packed = PackedPoints.of(points);
+        int n = packed.size();
+        BoundingBox box = BoundingBox.of(packed);
+        long[] reserved = n == 0 ? null : jdbcTemplate.query(RESERVE_POINT_ORDERS,
+            rs -> rs.next() ? new long[] {rs.getLong(1), rs.getLong(2)} : null,
+            n, box.minX(), box.minY(), box.maxX(), box.maxY(), author, name, n);
+        if (reserved == null) {
+            if (n == 0 && blueprintRepository.existsByAuthorAndName(author, name)) return;
+            throw new BlueprintNotFoundException(
+                "Blueprint not found: " + author + "/" + name
+            );
+        }
+        insertPoints(reserved[0], packed, (int) reserved[1]);
+    }
 
-        PointEntity pointEntity = new PointEntity(x, y, nextOrder);
-        entity.addPoint(pointEntity);
+    private void insertPoints(long blueprintId, PackedPoints packed, int first) {
+        int n = packed.size();
+        if (n == 0) return;
+        // Plain JDBC batch (point ids are IDENTITY, which rules out Hibernate batching); the driver's
+        // reWriteBatchedInserts folds it into multi-row INSERTs sent in one round trip
+        jdbcTemplate.batchUpdate(INSERT_POINT, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setLong(1, blueprintId);
+                ps.setInt(2, packed.x(i));
+                ps.setInt(3, packed.y(i));
+                ps.setInt(4, first + i);
+            }
 
-        blueprintRepository.save(entity);
+            @Override
+            public int getBatchSize() {
+                return n;
+            }
+        });
     }
 
-    
-    private BlueprintEntity toEntity(Blueprint bp) {
-        BlueprintEntity entity = new BlueprintEntity(bp.getAuthor(), bp.getName());
 
-        List<Point> points = bp.getPoints();
-        for (int i = 0; i < points.size(); i++) {
-            Point p = points.get(i);
-            PointEntity pointEntity = new PointEntity(p.x(), p.y(), i);
-            entity.addPoint(pointEntity);
-        }
+    private Blueprint toDomain(Object[] head, long[] buffer, int n) {
+        PackedPoints points = new PackedPoints(Arrays.copyOf(buffer, n), n);
+        return new Blueprint((String) head[1], (String) head[2], points, ((Number) head[3]).longValue());
+    }
 
-        return entity;
+    private Set<Blueprint> toDomainSet(Collection<BlueprintEntity> entities) {
+        Map<Long, byte[]> data = pointData(entities);
+        Set<Blueprint> blueprints = HashSet.newHashSet(entities.size());
+        for (BlueprintEntity entity : entities) blueprints.add(toDomain(entity, data.get(entity.getId())));
+        return blueprints;
     }
 
-    private Blueprint toDomain(BlueprintEntity entity) {
-        List<Point> points = entity.getPoints().stream()
-            .map(pe -> new Point(pe.getX(), pe.getY()))
-            .toList();
+    // Encoded points of the given blueprints that have any, in one statement (none if no blueprint is packed)
+    private Map<Long, byte[]> pointData(Collection<BlueprintEntity> entities) {
+        Long[] ids = entities.stream().filter(e -> e.getPackedCount() > 0).map(BlueprintEntity::getId).toArray(Long[]::new);
+        if (ids.length == 0) return Map.of();
+        Map<Long, byte[]> data = HashMap.newHashMap(ids.length);
+        jdbcTemplate.query(con -> {
+            PreparedStatement ps = con.prepareStatement(SELECT_POINT_DATA);
+            ps.setArray(1, con.createArrayOf("bigint", ids));
+            return ps;
+        }, rs -> {
+            data.put(rs.getLong(1), rs.getBytes(2));
+        });
+        return data;
+    }
+
+    private Blueprint toDomain(BlueprintEntity entity, byte[] pointData) {
+        List<PointEntity> tail = entity.getPoints();
+        int packed = entity.getPackedCount();
+        int n = packed + tail.size();
+        long[] coords = packed == 0 ? new long[n] : PointCodec.decode(pointData, packed, n);
+        for (int i = 0; i < tail.size(); i++) {
+            PointEntity pe = tail.get(i);
+            coords[packed + i] = PackedPoints.pack(pe.getX(), pe.getY());
+        }
 
-        return new Blueprint(entity.getAuthor(), entity.getName(), points);
+        return new Blueprint(entity.getAuthor(), entity.getName(), new PackedPoints(coords, n), entity.getVersion());
     }
 }
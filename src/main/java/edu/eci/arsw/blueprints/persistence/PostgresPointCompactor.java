@@ -0,0 +1,92 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Compacta periódicamente los blueprints grandes: mueve los puntos de {@code points} (la cola de appends
+ * recientes) al final de {@code blueprints.point_data} y borra esas filas. Los appends siguen insertando filas,
+ * así que no cambian; cada blueprint se compacta en su propia transacción con el lock de su fila, el mismo que
+ * toman los appends, y su versión no cambia porque sus puntos tampoco.
+ */
+@Component
+public class PostgresPointCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(PostgresPointCompactor.class);
+
+    private static final String CANDIDATES =
+        "SELECT id FROM blueprints WHERE point_count >= ? AND point_count - packed_count >= ? "
+            + "ORDER BY point_count - packed_count DESC LIMIT ?";
+    private static final String LOCK =
+        "SELECT point_count, packed_count, point_data FROM blueprints WHERE id = ? FOR UPDATE";
+    static final String TAIL = "SELECT x, y FROM points WHERE blueprint_id = ? ORDER BY point_order";
+    private static final String STORE = "UPDATE blueprints SET point_data = ?, packed_count = ? WHERE id = ?";
+    static final String DROP_TAIL = "DELETE FROM points WHERE blueprint_id = ?";
+
+    static final int MAX_PER_RUN = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int packedMinPoints;
+    private final int minTail;
+
+    public PostgresPointCompactor(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                  @Value("${blueprints.point-storage.packed-min-points:10000}") int packedMinPoints,
+                                  @Value("${blueprints.point-storage.compact-min-tail:1000}") int minTail) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.packedMinPoints = packedMinPoints;
+        this.minTail = Math.max(1, minTail);
+    }
+
+    /** Compacta hasta {@link #MAX_PER_RUN} blueprints con al menos {@code compact-min-tail} puntos sin codificar. */
+    @Scheduled(initialDelayString = "${blueprints.point-storage.compact-interval:PT1M}",
+               fixedDelayString = "${blueprints.point-storage.compact-interval:PT1M}")
+    public int compactPending() {
+        if (packedMinPoints <= 0) return 0;
+        List<Long> ids = jdbcTemplate.queryForList(CANDIDATES, Long.class, packedMinPoints, minTail, MAX_PER_RUN);
+        int compacted = 0;
+        for (long id : ids) {
+            try {
+                compact(id);
+                compacted++;
+            } catch (RuntimeException e) {
+                log.warn("Could not compact points of blueprint {}", id, e);
+            }
+        }
+        return compacted;
+    }
+
+    /** Codifica toda la cola de {@code points} del blueprint; devuelve cuántos puntos movió. */
+    public int compact(long blueprintId) {
+        Integer moved = transactionTemplate.execute(status -> {
+            Object[] row = jdbcTemplate.query(LOCK, rs -> rs.next()
+                ? new Object[] {rs.getInt(1), rs.getInt(2), rs.getBytes(3)} : null, blueprintId);
+            if (row == null) return 0;
+            int count = (Integer) row[0];
+            int packed = (Integer) row[1];
+            byte[] data = row[2] == null ? new byte[0] : (byte[]) row[2];
+            long[] tail = new long[count - packed];
+            int[] n = {0};
+            jdbcTemplate.query(TAIL, rs -> {
+                if (n[0] == tail.length) throw new IllegalStateException("blueprint " + blueprintId + " has more point rows than expected");
+                tail[n[0]++] = PackedPoints.pack(rs.getInt(1), rs.getInt(2));
+            }, blueprintId);
+            if (n[0] != tail.length) throw new IllegalStateException("blueprint " + blueprintId + " is missing point rows");
+            if (tail.length == 0) return 0;
+            jdbcTemplate.update(STORE, PointCodec.append(data, packed, new PackedPoints(tail, tail.length)), count, blueprintId);
+            jdbcTemplate.update(DROP_TAIL, blueprintId);
+            return tail.length;
+        });
+        return moved == null ? 0 : moved;
+    }
+}
@@ -0,0 +1,170 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * {@link ReactiveBlueprintPersistence} sobre R2DBC, con el mismo esquema que {@link PostgresBlueprintPersistence}.
+ * Los listados se leen en páginas keyset de {@link #PAGE_SIZE} blueprints, cada una con una sola sentencia: la
+ * conexión vuelve al pool al terminar la página y la siguiente solo se consulta cuando el suscriptor terminó de
+ * pedir la actual, así que un cliente lento no retiene hilo ni conexión.
+ * <p>
+ * El pool es propio y no un bean {@code ConnectionFactory}: con uno, Spring Boot dejaría de configurar el
+ * DataSource que usan JPA y el resto de la persistencia.
+ */
+@Repository
+public class R2dbcBlueprintPersistence implements ReactiveBlueprintPersistence, DisposableBean {
+
+    static final int PAGE_SIZE = 100;
+
+    // The page's blueprints joined with their tail rows in point order; point_data only travels on each
+    // blueprint's first row, as in BlueprintRepository.streamAllPointRows
+    private static final String PAGE = "SELECT b.id, b.author, b.name, b.version, b.packed_count, "
+            + "CASE WHEN p.point_order IS NULL OR p.point_order = b.packed_count THEN b.point_data END AS point_data, "
+            + "p.x, p.y FROM (SELECT * FROM blueprints WHERE %s ORDER BY author, name LIMIT %d) b "
+            + "LEFT JOIN points p ON p.blueprint_id = b.id ORDER BY b.author, b.name, p.point_order";
+    private static final String ONE = PAGE.formatted("author = $1 AND name = $2", 1);
+    private static final String AUTHOR_PAGE = PAGE.formatted("author = $1 AND name > $2", PAGE_SIZE);
+    private static final String ALL_PAGE = PAGE.formatted("(author, name) > ($1, $2)", PAGE_SIZE);
+    // Stored authors are never blank, so every blueprint comes after ("", "")
+    private static final BlueprintCursor FIRST = new BlueprintCursor("", "");
+
+    private final ConnectionPool pool;
+
+    public R2dbcBlueprintPersistence(@Value("${spring.datasource.url}") String jdbcUrl,
+                                     @Value("${spring.datasource.username}") String username,
+                                     @Value("${spring.datasource.password}") String password,
+                                     @Value("${blueprints.reactive.pool-size:10}") int poolSize) {
+        // Same database as the JDBC side; JDBC-only URL parameters do not apply to R2DBC
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(
+                        jdbcUrl.replaceFirst("^jdbc:", "r2dbc:").replaceFirst("\\?.*$", ""))
+                .mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(0)
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Override
+    public Mono<Blueprint> getBlueprint(String author, String name) {
+        return page(ONE, author, name).flatMap(rows -> rows.isEmpty()
+                ? Mono.error(new BlueprintNotFoundException("Blueprint not found: " + author + "/" + name))
+                : Mono.just(rows.get(0)));
+    }
+
+    @Override
+    public Flux<Blueprint> getBlueprintsByAuthor(String author) {
+        return paged(after -> page(AUTHOR_PAGE, author, after.name()))
+                .switchIfEmpty(Mono.error(() -> new BlueprintNotFoundException("No blueprints found for author: " + author)));
+    }
+
+    @Override
+    public Flux<Blueprint> getAllBlueprints() {
+        return paged(after -> page(ALL_PAGE, after.author(), after.name()));
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    /** Conexiones del pool en uso en este momento. */
+    int acquiredConnections() {
+        return pool.getMetrics().map(PoolMetrics::acquiredSize).orElse(0);
+    }
+
+    /**
+     * Concatena las páginas que entrega {@code page} a partir de {@code FIRST}. Cada página se consulta recién
+     * cuando se entregó el último blueprint de la anterior; una página corta es la última.
+     */
+    static Flux<Blueprint> paged(Function<BlueprintCursor, Mono<List<Blueprint>>> page) {
+        return Flux.defer(() -> {
+            BlueprintCursor[] after = {FIRST};
+            return Flux.<BlueprintCursor>generate(sink -> {
+                        if (after[0] == null) sink.complete();
+                        else sink.next(after[0]);
+                    })
+                    // subscribing to a page takes a connection: flatMapIterable requests the whole page right
+                    // away, so it is read and released even if the subscriber stalls before the first row
+                    .concatMap(cursor -> page.apply(cursor)
+                            .doOnNext(rows -> after[0] = rows.size() < PAGE_SIZE ? null : BlueprintCursor.after(rows.get(rows.size() - 1)))
+                            .flatMapIterable(rows -> rows), 0);
+        });
+    }
+
+    private Mono<List<Blueprint>> page(String sql, String first, String second) {
+        return Flux.usingWhen(pool.create(),
+                        c -> Flux.from(c.createStatement(sql).bind("$1", first).bind("$2", second).execute())
+                                .flatMap(result -> result.map((row, meta) -> PageRow.of(row))),
+                        Connection::close)
+                .collect(PageBuilder::new, PageBuilder::add)
+                // filtering and writing happen downstream; keep them off the driver's event loop
+                .publishOn(Schedulers.parallel())
+                .map(PageBuilder::build);
+    }
+
+    private record PageRow(long id, String author, String name, long version, int packedCount, byte[] pointData,
+                           Integer x, Integer y) {
+
+        static PageRow of(Row row) {
+            return new PageRow(row.get("id", Long.class), row.get("author", String.class), row.get("name", String.class),
+                    row.get("version", Long.class), row.get("packed_count", Integer.class),
+                    row.get("point_data", byte[].class), row.get("x", Integer.class), row.get("y", Integer.class));
+        }
+    }
+
+    // Groups consecutive rows of the same blueprint: encoded prefix first, then its tail rows
+    private static final class PageBuilder {
+
+        private final List<Blueprint> blueprints = new ArrayList<>();
+        private PageRow head;
+        private long[] coords;
+        private int n;
+
+        void add(PageRow row) {
+            if (head == null || row.id() != head.id()) {
+                flush();
+                head = row;
+                n = row.packedCount();
+                coords = n > 0 ? PointCodec.decode(row.pointData(), n, n + 16) : new long[16];
+            }
+            if (row.x() == null) return;
+            if (n == coords.length) coords = Arrays.copyOf(coords, n * 2);
+            coords[n++] = PackedPoints.pack(row.x(), row.y());
+        }
+
+        List<Blueprint> build() {
+            flush();
+            return blueprints;
+        }
+
+        private void flush() {
+            if (head != null) {
+                blueprints.add(new Blueprint(head.author(), head.name(), new PackedPoints(coords, n), head.version()));
+            }
+            head = null;
+        }
+    }
+}
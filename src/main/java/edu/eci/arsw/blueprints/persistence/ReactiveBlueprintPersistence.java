@@ -0,0 +1,20 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lado de lectura de {@link BlueprintPersistence} sin bloquear hilos. Los listados van en orden (author, name) y se
+ * leen del almacenamiento a medida que el suscriptor los pide.
+ */
+public interface ReactiveBlueprintPersistence {
+
+    /** Termina con {@link BlueprintNotFoundException} si no existe. */
+    Mono<Blueprint> getBlueprint(String author, String name);
+
+    /** Termina con {@link BlueprintNotFoundException} si el autor no tiene blueprints. */
+    Flux<Blueprint> getBlueprintsByAuthor(String author);
+
+    Flux<Blueprint> getAllBlueprints();
+}
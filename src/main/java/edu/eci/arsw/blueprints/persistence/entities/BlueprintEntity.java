@@ -1,6 +1,7 @@
 package edu.eci.arsw.blueprints.persistence.entities;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -9,6 +10,8 @@ import java.util.Objects;
 @Table(name = "blueprints", uniqueConstraints = @UniqueConstraint(columnNames = {"author", "name"}))
 public class BlueprintEntity {
 
+    public static final int BATCH_SIZE = 128;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -19,8 +22,24 @@ public class BlueprintEntity {
     @Column(nullable = false)
     private String name;
 
-    @OneToMany(mappedBy = "blueprint", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    @Column(nullable = false)
+    private long version;
+
+    // Points ever appended, which is also the point_order of the next one; lets appends skip loading points
+    @Column(name = "point_count", nullable = false)
+    private int pointCount;
+
+    // The first packedCount points live encoded in blueprints.point_data (see PointCodec) and the rest, the
+    // tail of recent appends, in points. point_data itself is left unmapped so that joins against points
+    // never repeat it per row; it is read with its own query only when packedCount > 0.
+    @Column(name = "packed_count", nullable = false)
+    private int packedCount;
+
+    // Lazy so each query picks its strategy: single reads fetch-join the points (entity graph), listings
+    // initialize them BATCH_SIZE blueprints per statement, and pages without points never touch them
+    @OneToMany(mappedBy = "blueprint", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @OrderBy("pointOrder ASC")
+    @BatchSize(size = BATCH_SIZE)
     private List<PointEntity> points = new ArrayList<>();
 
     public BlueprintEntity() {
@@ -35,6 +54,7 @@ public class BlueprintEntity {
     public void addPoint(PointEntity point) {
         points.add(point);
         point.setBlueprint(this);
+        pointCount++;
     }
 
     public void removePoint(PointEntity point) {
@@ -67,6 +87,30 @@ public class BlueprintEntity {
         this.name = name;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public int getPointCount() {
+        return pointCount;
+    }
+
+    public void setPointCount(int pointCount) {
+        this.pointCount = pointCount;
+    }
+
+    public int getPackedCount() {
+        return packedCount;
+    }
+
+    public void setPackedCount(int packedCount) {
+        this.packedCount = packedCount;
+    }
+
     public List<PointEntity> getPoints() {
         return points;
     }
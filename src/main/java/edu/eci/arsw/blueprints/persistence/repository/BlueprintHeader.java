@@ -0,0 +1,13 @@
+package edu.eci.arsw.blueprints.persistence.repository;
+
+/**
+ * Proyección de un blueprint sin sus puntos, para listados que no los necesitan.
+ */
+public interface BlueprintHeader {
+
+    String getAuthor();
+
+    String getName();
+
+    long getVersion();
+}
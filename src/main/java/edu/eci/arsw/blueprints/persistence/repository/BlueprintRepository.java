@@ -1,18 +1,88 @@
 package edu.eci.arsw.blueprints.persistence.repository;
 
 import edu.eci.arsw.blueprints.persistence.entities.BlueprintEntity;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Repository
 public interface BlueprintRepository extends JpaRepository<BlueprintEntity, Long> {
 
+    @EntityGraph(attributePaths = "points")
     Optional<BlueprintEntity> findByAuthorAndName(String author, String name);
 
     Set<BlueprintEntity> findByAuthor(String author);
 
     boolean existsByAuthorAndName(String author, String name);
+
+    /**
+     * Agrega un punto al final en una sola sentencia. El UPDATE toma el lock de la fila del blueprint, así que
+     * appends concurrentes al mismo blueprint se serializan y cada uno recibe un point_order distinto. También
+     * agranda la caja del blueprint (min_x .. max_y) para incluir el punto.
+     * Devuelve 0 si el blueprint no existe.
+     */
+    @Modifying
+    @Query(value = "WITH bp AS (UPDATE blueprints SET point_count = point_count + 1, version = version + 1, "
+            + "min_x = LEAST(min_x, :x), min_y = LEAST(min_y, :y), max_x = GREATEST(max_x, :x), max_y = GREATEST(max_y, :y) "
+            + "WHERE author = :author AND name = :name RETURNING id, point_count - 1 AS point_order) "
+            + "INSERT INTO points (blueprint_id, x, y, point_order) SELECT id, :x, :y, point_order FROM bp",
+            nativeQuery = true)
+    int appendPoint(@Param("author") String author, @Param("name") String name, @Param("x") int x, @Param("y") int y);
+
+    // Keyset pages: the row comparison walks the unique (author, name) index from the cursor on
+
+    @Query(value = "SELECT * FROM blueprints ORDER BY author, name LIMIT :limit", nativeQuery = true)
+    List<BlueprintEntity> findFirstPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT * FROM blueprints WHERE (author, name) > (:author, :name) ORDER BY author, name LIMIT :limit",
+            nativeQuery = true)
+    List<BlueprintEntity> findPageAfter(@Param("author") String author, @Param("name") String name,
+                                        @Param("limit") int limit);
+
+    @Query(value = "SELECT author, name, version FROM blueprints ORDER BY author, name LIMIT :limit", nativeQuery = true)
+    List<BlueprintHeader> findFirstHeaderPage(@Param("limit") int limit);
+
+    @Query(value = "SELECT author, name, version FROM blueprints WHERE (author, name) > (:author, :name) "
+            + "ORDER BY author, name LIMIT :limit", nativeQuery = true)
+    List<BlueprintHeader> findHeaderPageAfter(@Param("author") String author, @Param("name") String name,
+                                              @Param("limit") int limit);
+
+    // Window queries: box && box is answered by the GiST index blueprints_bbox_idx (V3); boxes are NULL, and never
+    // match, for blueprints without points
+
+    @Query(value = "SELECT * FROM blueprints WHERE box(point(min_x, min_y), point(max_x, max_y)) "
+            + "&& box(point(:minX, :minY), point(:maxX, :maxY)) ORDER BY author, name", nativeQuery = true)
+    List<BlueprintEntity> findIntersecting(@Param("minX") int minX, @Param("minY") int minY,
+                                           @Param("maxX") int maxX, @Param("maxY") int maxY);
+
+    @Query(value = "SELECT author, name, version FROM blueprints WHERE box(point(min_x, min_y), point(max_x, max_y)) "
+            + "&& box(point(:minX, :minY), point(:maxX, :maxY)) ORDER BY author, name", nativeQuery = true)
+    List<BlueprintHeader> findHeadersIntersecting(@Param("minX") int minX, @Param("minY") int minY,
+                                                  @Param("maxX") int maxX, @Param("maxY") int maxY);
+
+    /**
+     * Todos los puntos de todos los blueprints, agrupados por blueprint y en orden, como filas
+     * {@code [id, author, name, version, x, y, packed_count, point_data]} ({@code x} e {@code y} null si el
+     * blueprint no tiene puntos en {@code points}). {@code point_data} viene solo en la primera fila de cada blueprint.
+     * Con el fetch size el driver lee por bloques a través de un cursor (requiere una transacción abierta);
+     * el Stream debe cerrarse. Son filas escalares y no proyecciones: un proxy por fila triplicaba el tiempo.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(value = "SELECT b.id AS id, b.author AS author, b.name AS name, b.version AS version, p.x AS x, p.y AS y, "
+            + "b.packed_count AS packed_count, "
+            + "CASE WHEN p.point_order IS NULL OR p.point_order = b.packed_count THEN b.point_data END AS point_data "
+            + "FROM blueprints b LEFT JOIN points p ON p.blueprint_id = b.id ORDER BY b.id, p.point_order",
+            nativeQuery = true)
+    Stream<Object[]> streamAllPointRows();
 }
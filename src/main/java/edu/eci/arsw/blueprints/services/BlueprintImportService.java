@@ -0,0 +1,234 @@
+package edu.eci.arsw.blueprints.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.ImportRejection;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Importación masiva de blueprints desde un flujo, sin cargarlo completo en memoria. Formatos:
+ * <ul>
+ *   <li>NDJSON: un blueprint por línea, el mismo formato que produce la exportación.</li>
+ *   <li>CSV: una fila {@code author,name,x,y} por punto; las filas consecutivas del mismo blueprint forman uno solo
+ *   y {@code author,name} sin coordenadas declara un blueprint vacío. Encabezado opcional.</li>
+ * </ul>
+ * Los registros inválidos se reportan como rechazados y no detienen la importación.
+ */
+@Service
+public class BlueprintImportService {
+
+    static final String INVALID = "invalid record";
+
+    private final BlueprintPersistence persistence;
+    private final ObjectMapper objectMapper;
+
+    public BlueprintImportService(BlueprintPersistence persistence, ObjectMapper objectMapper) {
+        this.persistence = persistence;
+        this.objectMapper = objectMapper;
+    }
+
+    public ImportReport importNdjson(InputStream in) throws BlueprintPersistenceException {
+        return importFrom(new NdjsonReader(reader(in)));
+    }
+
+    public ImportReport importCsv(InputStream in) throws BlueprintPersistenceException {
+        return importFrom(new CsvReader(reader(in)));
+    }
+
+    private ImportReport importFrom(RecordReader records) throws BlueprintPersistenceException {
+        try {
+            ImportReport stored = persistence.importBlueprints(records);
+            return stored.plus(new ImportReport(0, 0, records.invalid, List.copyOf(records.rejections)));
+        } catch (UncheckedIOException e) {
+            throw new BlueprintPersistenceException("Import aborted: " + e.getCause().getMessage());
+        }
+    }
+
+    private static BufferedReader reader(InputStream in) {
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    private record NdjsonLine(String author, String name, List<Point> points) { }
+
+    /** Iterador perezoso: lee la entrada solo a medida que el almacenamiento pide registros. */
+    private abstract static class RecordReader implements Iterator<ImportRecord> {
+
+        final BufferedReader in;
+        final List<ImportRejection> rejections = new ArrayList<>();
+        long line;
+        long invalid;
+        private ImportRecord next;
+
+        RecordReader(BufferedReader in) { this.in = in; }
+
+        /** Siguiente registro válido, o null al final de la entrada. */
+        abstract ImportRecord read() throws IOException;
+
+        void reject(long at, String author, String name) {
+            if (invalid++ < ImportReport.MAX_LISTED) rejections.add(new ImportRejection(at, author, name, INVALID));
+        }
+
+        String readLine() throws IOException {
+            String s = in.readLine();
+            if (s != null) line++;
+            return s;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = read();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public ImportRecord next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            ImportRecord r = next;
+            next = null;
+            return r;
+        }
+    }
+
+    private final class NdjsonReader extends RecordReader {
+
+        NdjsonReader(BufferedReader in) { super(in); }
+
+        @Override
+        ImportRecord read() throws IOException {
+            String s;
+            while ((s = readLine()) != null) {
+                if (s.isBlank()) continue;
+                NdjsonLine parsed;
+                try {
+                    parsed = objectMapper.readValue(s, NdjsonLine.class);
+                } catch (JsonProcessingException e) {
+                    reject(line, null, null);
+                    continue;
+                }
+                if (parsed == null) {
+                    reject(line, null, null);
+                    continue;
+                }
+                List<Point> points = parsed.points() == null ? List.of() : parsed.points();
+                if (isBlank(parsed.author()) || isBlank(parsed.name()) || points.stream().anyMatch(Objects::isNull)) {
+                    reject(line, parsed.author(), parsed.name());
+                    continue;
+                }
+                return new ImportRecord(line, new Blueprint(parsed.author(), parsed.name(), PackedPoints.of(points)));
+            }
+            return null;
+        }
+    }
+
+    private static final class CsvReader extends RecordReader {
+
+        private String[] pending; // first row of the next blueprint, already read
+        private long pendingLine;
+        private long[] coords = new long[64];
+
+        CsvReader(BufferedReader in) { super(in); }
+
+        @Override
+        ImportRecord read() throws IOException {
+            while (true) {
+                String[] first = pending != null ? pending : nextRow();
+                if (first == null) return null;
+                long start = pending != null ? pendingLine : line;
+                pending = null;
+                String author = first[0], name = first.length > 1 ? first[1] : null;
+                boolean valid = !isBlank(author) && !isBlank(name);
+                int n = 0;
+                String[] row = first;
+                while (row != null) {
+                    if (row.length == 4) {
+                        try {
+                            long p = PackedPoints.pack(Integer.parseInt(row[2].trim()), Integer.parseInt(row[3].trim()));
+                            if (n == coords.length) coords = Arrays.copyOf(coords, n * 2);
+                            coords[n++] = p;
+                        } catch (NumberFormatException e) {
+                            valid = false;
+                        }
+                    } else if (row.length != 2 || row != first) {
+                        valid = false;
+                    }
+                    row = nextRow();
+                    if (row != null && !(row.length > 1 && row[0].equals(author) && row[1].equals(name))) {
+                        pending = row;
+                        pendingLine = line;
+                        break;
+                    }
+                }
+                if (valid) {
+                    return new ImportRecord(start, new Blueprint(author, name, new PackedPoints(Arrays.copyOf(coords, n), n)));
+                }
+                reject(start, author, name);
+            }
+        }
+
+        // Skips blank lines and a leading header row
+        private String[] nextRow() throws IOException {
+            String s;
+            while ((s = readLine()) != null) {
+                if (s.isBlank()) continue;
+                String[] row = split(s);
+                if (line == 1 && row[0].equalsIgnoreCase("author")) continue;
+                return row;
+            }
+            return null;
+        }
+
+        // RFC 4180 fields within one line: quoted fields may contain commas and doubled quotes
+        private static String[] split(String s) {
+            List<String> fields = new ArrayList<>(4);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < s.length(); i++) {
+                char c = s.charAt(i);
+                if (quoted) {
+                    if (c != '"') field.append(c);
+                    else if (i + 1 < s.length() && s.charAt(i + 1) == '"') field.append(s.charAt(++i));
+                    else quoted = false;
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            fields.add(field.toString());
+            return fields.toArray(String[]::new);
+        }
+    }
+
+    private static boolean isBlank(String s) {
+        return s == null || s.isBlank();
+    }
+}
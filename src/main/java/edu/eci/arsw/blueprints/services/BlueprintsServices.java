@@ -1,23 +1,56 @@
 package edu.eci.arsw.blueprints.services;
 
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
 import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.FilterPipeline;
+import edu.eci.arsw.blueprints.metrics.FilterMetrics;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintPage;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
 import edu.eci.arsw.blueprints.persistence.BlueprintPersistenceException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class BlueprintsServices {
 
     private final BlueprintPersistence persistence;
     private final BlueprintsFilter filter;
+    private final FilteredBlueprintCache cache;
+    private final FilterExecutor executor;
+    private final FilterMetrics filterMetrics;
 
     public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter) {
+        this(persistence, filter, FilteredBlueprintCache.disabled());
+    }
+
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, FilteredBlueprintCache cache) {
+        this(persistence, filter, cache, FilterExecutor.sequential());
+    }
+
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, FilteredBlueprintCache cache,
+                              FilterExecutor executor) {
+        this(persistence, filter, cache, executor, FilterMetrics.disabled());
+    }
+
+    @Autowired
+    public BlueprintsServices(BlueprintPersistence persistence, BlueprintsFilter filter, FilteredBlueprintCache cache,
+                              FilterExecutor executor, FilterMetrics filterMetrics) {
         this.persistence = persistence;
         this.filter = filter;
+        this.cache = cache;
+        this.executor = executor;
+        this.filterMetrics = filterMetrics;
     }
 
     public void addNewBlueprint(Blueprint bp) throws BlueprintPersistenceException {
@@ -25,24 +58,178 @@ public class BlueprintsServices {
     }
 
     public Set<Blueprint> getAllBlueprints() {
-        return persistence.getAllBlueprints()
-                .stream()
-                .map(filter::apply)
-                .collect(java.util.stream.Collectors.toSet());
+        return getAllBlueprints(null);
+    }
+
+    /**
+     * Como {@link #getAllBlueprints()}, pero con las etapas de {@code filters} (ver {@link FilterPipeline#of})
+     * en lugar del filtro configurado; null o vacío usa el configurado. Igual en los demás métodos con ese parámetro.
+     */
+    public Set<Blueprint> getAllBlueprints(String filters) {
+        BlueprintsFilter f = filter(filters);
+        return executor.filterAll(persistence.getAllBlueprints(), bp -> filtered(bp, f));
+    }
+
+    public BlueprintPage getBlueprintsPage(String cursor, int limit, boolean withPoints) {
+        return getBlueprintsPage(cursor, limit, withPoints, null);
+    }
+
+    /**
+     * Página de hasta {@code limit} blueprints después de {@code cursor} (null o vacío = primera página).
+     */
+    public BlueprintPage getBlueprintsPage(String cursor, int limit, boolean withPoints, String filters) {
+        BlueprintsFilter f = filter(filters);
+        BlueprintCursor after;
+        try {
+            after = cursor == null || cursor.isEmpty() ? null : BlueprintCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("invalid cursor");
+        }
+        // one extra row tells whether another page exists without a count query
+        List<Blueprint> rows = persistence.getBlueprintsPage(after, limit + 1, withPoints);
+        boolean more = rows.size() > limit;
+        List<Blueprint> items = (more ? rows.subList(0, limit) : rows).stream()
+                .map(bp -> filtered(bp, f))
+                .toList();
+        String next = more ? BlueprintCursor.after(rows.get(limit - 1)).encode() : null;
+        return new BlueprintPage(items, next);
+    }
+
+    /**
+     * Entrega cada blueprint filtrado a {@code sink} apenas se lee. No pasa por la caché: una exportación
+     * completa solo desplazaría las entradas que sí se reutilizan.
+     */
+    public void exportBlueprints(Consumer<Blueprint> sink) {
+        exportBlueprints(sink, filter);
+    }
+
+    public void exportBlueprints(Consumer<Blueprint> sink, BlueprintsFilter f) {
+        persistence.forEachBlueprint(bp -> sink.accept(f.apply(bp)));
+    }
+
+    /**
+     * Blueprints cuya caja se cruza con la ventana {@code bbox} ({@code minX,minY,maxX,maxY}), en orden
+     * (author, name). Con {@code withPoints} traen solo sus puntos dentro de la ventana, ya filtrados.
+     *
+     * @throws BadRequestException si {@code bbox} no es una ventana válida
+     */
+    public List<Blueprint> getBlueprintsWithin(String bbox, boolean withPoints, String filters) {
+        BlueprintsFilter f = filter(filters);
+        BoundingBox window = window(bbox);
+        List<Blueprint> found = persistence.getBlueprintsIntersecting(window, withPoints);
+        if (!withPoints) return found;
+        return found.stream().map(bp -> {
+            Blueprint inside = clip(bp, window);
+            return inside == bp ? filtered(bp, f) : f.apply(inside);
+        }).toList();
     }
 
     public Set<Blueprint> getBlueprintsByAuthor(String author) throws BlueprintNotFoundException {
-        return persistence.getBlueprintsByAuthor(author)
-                .stream()
-                .map(filter::apply)
-                .collect(java.util.stream.Collectors.toSet());
+        return getBlueprintsByAuthor(author, null);
+    }
+
+    public Set<Blueprint> getBlueprintsByAuthor(String author, String filters) throws BlueprintNotFoundException {
+        BlueprintsFilter f = filter(filters);
+        return executor.filterAll(persistence.getBlueprintsByAuthor(author), bp -> filtered(bp, f));
     }
 
     public Blueprint getBlueprint(String author, String name) throws BlueprintNotFoundException {
-        return filter.apply(persistence.getBlueprint(author, name));
+        return getBlueprint(author, name, null);
+    }
+
+    public Blueprint getBlueprint(String author, String name, String filters) throws BlueprintNotFoundException {
+        return getBlueprint(author, name, filters, null, null);
+    }
+
+    /**
+     * Blueprint en un nivel de detalle de {@link LevelOfDetail}: {@code lod} elige el nivel y {@code maxPoints}
+     * el más detallado que no pase de esos puntos (antes de filtrar). Sin ninguno de los dos, el blueprint completo.
+     */
+    public Blueprint getBlueprint(String author, String name, String filters, Integer lod, Integer maxPoints)
+            throws BlueprintNotFoundException {
+        return getBlueprint(author, name, filters, lod, maxPoints, null);
+    }
+
+    /**
+     * Como {@link #getBlueprint(String, String, String, Integer, Integer)}, con solo los puntos dentro de la
+     * ventana {@code bbox} ({@code minX,minY,maxX,maxY}) si no es null. El recorte va después del nivel de detalle
+     * y antes del filtro.
+     */
+    public Blueprint getBlueprint(String author, String name, String filters, Integer lod, Integer maxPoints,
+                                  String bbox) throws BlueprintNotFoundException {
+        if (lod != null && maxPoints != null) {
+            throw new BadRequestException("lod and maxPoints cannot be combined");
+        }
+        BlueprintsFilter f = filter(filters);
+        BoundingBox window = bbox == null ? null : window(bbox);
+        Blueprint raw = persistence.getBlueprint(author, name);
+        Blueprint detail = lod != null ? LevelOfDetail.level(raw, lod)
+                : maxPoints != null ? LevelOfDetail.maxPoints(raw, maxPoints)
+                : raw;
+        if (window != null) detail = clip(detail, window);
+        // a coarse level has the same key as the full blueprint in the filter cache, and is cheap to filter anyway
+        return detail == raw ? filtered(raw, f) : f.apply(detail);
+    }
+
+    /**
+     * Puntos agregados desde la posición {@code sincePoint}, sin filtros ni nivel de detalle: los que se le
+     * agregaron al blueprint, en orden. El {@code pointCount} de la respuesta es el siguiente {@code sincePoint}.
+     */
+    public BlueprintDelta getPointsSince(String author, String name, int sincePoint) throws BlueprintNotFoundException {
+        if (sincePoint < 0) throw new BadRequestException("sincePoint must not be negative");
+        return persistence.getPointsSince(author, name, sincePoint);
     }
 
     public void addPoint(String author, String name, int x, int y) throws BlueprintNotFoundException {
         persistence.addPoint(author, name, x, y);
     }
+
+    public void addPoints(String author, String name, List<Point> points) throws BlueprintNotFoundException {
+        persistence.addPoints(author, name, points);
+    }
+
+    /**
+     * Filtro para el parámetro {@code filters}: el configurado si es null o vacío.
+     *
+     * @throws BadRequestException si nombra una etapa que no existe
+     */
+    public BlueprintsFilter filter(String filters) {
+        if (filters == null || filters.isBlank()) return filter;
+        try {
+            // built per request, so not a bean the metrics aspect could advise
+            return filterMetrics.timed(FilterPipeline.of(filters));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    private Blueprint filtered(Blueprint bp, BlueprintsFilter f) {
+        return cache.filtered(bp, f);
+    }
+
+    private static BoundingBox window(String bbox) {
+        try {
+            return BoundingBox.parse(bbox);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    /** Los puntos de {@code bp} dentro de {@code window}, en orden; el mismo blueprint si están todos. */
+    static Blueprint clip(Blueprint bp, BoundingBox window) {
+        PackedPoints points = bp.getPoints();
+        int n = points.size();
+        int kept = 0;
+        for (int i = 0; i < n; i++) {
+            long p = points.packed(i);
+            if (window.contains(PackedPoints.unpackX(p), PackedPoints.unpackY(p))) kept++;
+        }
+        if (kept == n) return bp;
+        long[] inside = new long[kept];
+        for (int i = 0, j = 0; j < kept; i++) {
+            long p = points.packed(i);
+            if (window.contains(PackedPoints.unpackX(p), PackedPoints.unpackY(p))) inside[j++] = p;
+        }
+        return new Blueprint(bp.getAuthor(), bp.getName(), new PackedPoints(inside, kept), bp.getVersion());
+    }
 }
@@ -0,0 +1,71 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Aplica el filtro a un listado completo. Por debajo de {@code parallel-min-points} puntos en total lo hace en el
+ * hilo que llama; por encima reparte los blueprints en un ForkJoinPool propio de {@code parallelism} hilos (no el
+ * común, que comparten los parallel streams y CompletableFuture de toda la JVM). Con paralelismo 1 o un umbral
+ * {@code <= 0}, el valor por defecto, siempre es secuencial.
+ */
+@Component
+public class FilterExecutor implements DisposableBean {
+
+    private final AtomicInteger workers = new AtomicInteger();
+    private final ForkJoinPool pool;
+    private final long minPoints;
+
+    public FilterExecutor(@Value("${blueprints.filter.parallelism:0}") int parallelism,
+                          @Value("${blueprints.filter.parallel-min-points:0}") long minPoints) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.minPoints = minPoints;
+        this.pool = threads < 2 || minPoints <= 0 ? null
+                : new ForkJoinPool(threads, this::newWorker, null, false);
+    }
+
+    public static FilterExecutor sequential() {
+        return new FilterExecutor(1, 0);
+    }
+
+    public Set<Blueprint> filterAll(Collection<Blueprint> blueprints, UnaryOperator<Blueprint> filter) {
+        if (!parallel(blueprints)) {
+            return blueprints.stream().map(filter).collect(Collectors.toSet());
+        }
+        // a parallel stream started from a worker runs its tasks in that worker's pool
+        List<Blueprint> list = List.copyOf(blueprints);
+        return pool.submit(() -> list.parallelStream().map(filter).collect(Collectors.toSet())).join();
+    }
+
+    boolean parallel(Collection<Blueprint> blueprints) {
+        if (pool == null || blueprints.size() < 2) return false;
+        long points = 0;
+        for (Blueprint bp : blueprints) {
+            points += bp.getPoints().size();
+            if (points >= minPoints) return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) pool.shutdownNow();
+    }
+
+    private ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        t.setName("blueprint-filter-" + workers.incrementAndGet());
+        return t;
+    }
+}
@@ -0,0 +1,73 @@
+package edu.eci.arsw.blueprints.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Resultados filtrados por (author, name, version, filtro). Como toda modificación incrementa la versión,
+ * una entrada nunca queda obsoleta: simplemente deja de pedirse y sale por tamaño o por inactividad.
+ * El tamaño se mide en puntos almacenados; {@code max-points <= 0} desactiva la caché. Los blueprints con menos
+ * de {@code min-points} puntos no se guardan: filtrarlos cuesta menos que buscarlos.
+ */
+@Component
+public class FilteredBlueprintCache {
+
+    private final Cache<Key, Blueprint> cache;
+    private final int minPoints;
+
+    public FilteredBlueprintCache(@Value("${blueprints.filter-cache.max-points:2000000}") long maxPoints,
+                                  @Value("${blueprints.filter-cache.min-points:256}") int minPoints,
+                                  @Value("${blueprints.filter-cache.expire-after-access:10m}") Duration expireAfterAccess) {
+        this.minPoints = minPoints;
+        this.cache = maxPoints <= 0 ? null : Caffeine.newBuilder()
+                .maximumWeight(maxPoints)
+                .weigher((Key k, Blueprint bp) -> bp.getPoints().size() + 1)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+    }
+
+    public static FilteredBlueprintCache disabled() {
+        return new FilteredBlueprintCache(0, 0, Duration.ZERO);
+    }
+
+    public Blueprint filtered(Blueprint raw, BlueprintsFilter filter) {
+        // identity results are the stored blueprint itself: nothing to save by caching them
+        if (cache == null || filter instanceof IdentityFilter || raw.getPoints().size() < minPoints) {
+            return filter.apply(raw);
+        }
+        // version is read before filtering: an append racing with this call can only make the cached
+        // value newer than its key, and readers of the new version miss and recompute anyway
+        Key key = new Key(raw.getAuthor(), raw.getName(), raw.getVersion(), filter.key());
+        Blueprint cached = cache.getIfPresent(key);
+        if (cached != null) return cached;
+        // filtered outside the map: cache.get(key, fn) runs fn under a map bin lock, a monitor that pins a virtual
+        // thread and blocks every request for a key in that bin. Concurrent misses may filter twice; the last put wins
+        Blueprint filtered = filter.apply(raw);
+        cache.put(key, filtered);
+        return filtered;
+    }
+
+    public Stats stats() {
+        if (cache == null) return new Stats(false, 0, 0, 0, 0);
+        CacheStats s = cache.stats();
+        return new Stats(true, s.hitCount(), s.missCount(), s.evictionCount(), cache.estimatedSize());
+    }
+
+    /** Ejecuta los desalojos pendientes (Caffeine los aplica de forma diferida). */
+    public void cleanUp() {
+        if (cache != null) cache.cleanUp();
+    }
+
+    public record Stats(boolean enabled, long hits, long misses, long evictions, long entries) { }
+
+    private record Key(String author, String name, long version, String filter) { }
+}
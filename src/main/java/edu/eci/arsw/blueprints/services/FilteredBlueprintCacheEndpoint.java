@@ -0,0 +1,20 @@
+package edu.eci.arsw.blueprints.services;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/filtercache}: aciertos, fallos y desalojos de {@link FilteredBlueprintCache}.
+ */
+@Component
+@Endpoint(id = "filtercache")
+public class FilteredBlueprintCacheEndpoint {
+
+    private final FilteredBlueprintCache cache;
+
+    public FilteredBlueprintCacheEndpoint(FilteredBlueprintCache cache) { this.cache = cache; }
+
+    @ReadOperation
+    public FilteredBlueprintCache.Stats stats() { return cache.stats(); }
+}
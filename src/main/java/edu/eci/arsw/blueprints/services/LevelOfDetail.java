@@ -0,0 +1,50 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+
+/**
+ * Niveles de detalle por potencias de dos: el nivel k conserva los puntos de índice múltiplo de 2^k y el último,
+ * unos n/2^k puntos; el nivel 0 es el blueprint completo. Se leen del snapshot de puntos a saltos, así que cuestan
+ * lo que el nivel devuelto y siempre incluyen los últimos puntos agregados.
+ */
+public final class LevelOfDetail {
+
+    private LevelOfDetail() { }
+
+    /** {@code raw} en el nivel {@code level}; el nivel 0 o un blueprint de dos puntos o menos es {@code raw} mismo. */
+    public static Blueprint level(Blueprint raw, int level) {
+        PackedPoints in = raw.getPoints();
+        int n = in.size();
+        if (level <= 0 || n <= 2) return raw;
+        int step = 1 << Math.min(level, 30);
+        long[] out = new long[size(n, level)];
+        int k = 0;
+        for (int i = 0; i < n; i += step) {
+            out[k++] = in.packed(i);
+            if (i > n - 1 - step) break; // i + step would overflow for the coarsest levels
+        }
+        if (k < out.length) out[k] = in.packed(n - 1);
+        return new Blueprint(raw.getAuthor(), raw.getName(), new PackedPoints(out, out.length), raw.getVersion());
+    }
+
+    /** El nivel más detallado de {@code raw} con a lo sumo {@code maxPoints} puntos (al menos dos). */
+    public static Blueprint maxPoints(Blueprint raw, int maxPoints) {
+        return level(raw, levelFor(raw.getPoints().size(), maxPoints));
+    }
+
+    /** Menor nivel cuyo {@link #size(int, int)} no pasa de {@code maxPoints}. */
+    static int levelFor(int n, int maxPoints) {
+        int level = 0;
+        while (size(n, level) > Math.max(2, maxPoints)) level++;
+        return level;
+    }
+
+    /** Puntos del nivel {@code level} de un blueprint de {@code n} puntos. */
+    static int size(int n, int level) {
+        if (n <= 2 || level <= 0) return n;
+        int step = 1 << Math.min(level, 30);
+        int sampled = (n - 1) / step + 1;
+        return (n - 1) % step == 0 ? sampled : sampled + 1;
+    }
+}
@@ -0,0 +1,43 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.persistence.ReactiveBlueprintPersistence;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Lecturas no bloqueantes con la misma semántica que las de {@link BlueprintsServices}: el mismo filtro y la misma
+ * caché de blueprints filtrados.
+ */
+@Service
+public class ReactiveBlueprintsServices {
+
+    private final ReactiveBlueprintPersistence persistence;
+    private final BlueprintsFilter filter;
+    private final FilteredBlueprintCache cache;
+
+    public ReactiveBlueprintsServices(ReactiveBlueprintPersistence persistence, BlueprintsFilter filter,
+                                      FilteredBlueprintCache cache) {
+        this.persistence = persistence;
+        this.filter = filter;
+        this.cache = cache;
+    }
+
+    public Mono<Blueprint> getBlueprint(String author, String name) {
+        return persistence.getBlueprint(author, name).map(this::filtered);
+    }
+
+    public Flux<Blueprint> getBlueprintsByAuthor(String author) {
+        return persistence.getBlueprintsByAuthor(author).map(this::filtered);
+    }
+
+    public Flux<Blueprint> getAllBlueprints() {
+        return persistence.getAllBlueprints().map(this::filtered);
+    }
+
+    private Blueprint filtered(Blueprint bp) {
+        return cache.filtered(bp, filter);
+    }
+}
@@ -0,0 +1,28 @@
+-- Esquema base. Idempotente: en una base creada a mano con el antiguo init-db.sql (que Flyway adopta como
+-- versión 0, ver spring.flyway.baseline-*) solo agrega las columnas que falten.
+
+CREATE TABLE IF NOT EXISTS blueprints (
+    id BIGSERIAL PRIMARY KEY,
+    author VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    UNIQUE (author, name)
+);
+
+CREATE TABLE IF NOT EXISTS points (
+    id BIGSERIAL PRIMARY KEY,
+    blueprint_id BIGINT NOT NULL REFERENCES blueprints(id) ON DELETE CASCADE,
+    x INTEGER NOT NULL,
+    y INTEGER NOT NULL,
+    point_order INTEGER NOT NULL
+);
+
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+-- Puntos agregados en total; también el point_order del siguiente
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS point_count INTEGER NOT NULL DEFAULT 0;
+-- Los primeros packed_count puntos están codificados en point_data (ver PointCodec); el resto son filas de points
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS packed_count INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS point_data BYTEA;
+
+-- Para bases en las que point_count se acaba de agregar
+UPDATE blueprints b SET point_count = (SELECT COUNT(*) FROM points p WHERE p.blueprint_id = b.id)
+WHERE b.point_count = 0 AND b.packed_count = 0;
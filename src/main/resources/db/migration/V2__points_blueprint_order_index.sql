@@ -0,0 +1,32 @@
+-- Toda lectura de puntos filtra por blueprint_id y ordena por point_order: lecturas por blueprint, lotes de
+-- @BatchSize, la cola que compacta PostgresPointCompactor y el ON DELETE CASCADE. Sin este índice cada una
+-- recorría la tabla points completa.
+
+-- Antes de este índice el point_order de un append se calculaba sin lock, y dos appends concurrentes podían
+-- repetirlo. En los blueprints con órdenes repetidos se renumeran sus filas (después de los packed_count puntos
+-- codificados), conservando el orden en que se leían (point_order, id); ningún punto se borra.
+WITH duplicated AS (
+    SELECT blueprint_id FROM points GROUP BY blueprint_id HAVING COUNT(*) > COUNT(DISTINCT point_order)
+), renumbered AS (
+    SELECT p.id, b.packed_count
+               + ROW_NUMBER() OVER (PARTITION BY p.blueprint_id ORDER BY p.point_order, p.id) - 1 AS point_order
+    FROM points p
+    JOIN duplicated d ON d.blueprint_id = p.blueprint_id
+    JOIN blueprints b ON b.id = p.blueprint_id
+)
+UPDATE points p SET point_order = r.point_order FROM renumbered r WHERE p.id = r.id AND p.point_order <> r.point_order;
+
+-- point_count es también el point_order del siguiente append: no puede quedar por debajo de una fila existente
+UPDATE blueprints b SET point_count = m.next_order
+FROM (SELECT blueprint_id, MAX(point_order) + 1 AS next_order FROM points GROUP BY blueprint_id) m
+WHERE m.blueprint_id = b.id AND b.point_count < m.next_order;
+
+-- Único porque cada append reserva su point_order con el lock de la fila del blueprint. INCLUDE (x, y) permite
+-- leer los puntos de un blueprint solo desde el índice (index-only scan) mientras el visibility map esté al día.
+CREATE UNIQUE INDEX IF NOT EXISTS points_blueprint_order_idx ON points (blueprint_id, point_order) INCLUDE (x, y);
+
+-- CLUSTER no va en la migración: bloquea points (ACCESS EXCLUSIVE) mientras la reescribe completa. Para dejar
+-- los puntos de cada blueprint en páginas contiguas, en una ventana de mantenimiento:
+--   CLUSTER points USING points_blueprint_order_idx; ANALYZE points;
+-- PostgreSQL no mantiene ese orden: lo que se agrega después va al final.
+ANALYZE points;
@@ -0,0 +1,63 @@
+-- Caja de los puntos de cada blueprint (NULL mientras no tenga puntos), mantenida por cada escritura: el INSERT
+-- la trae calculada y los appends la agrandan con LEAST/GREATEST, que ignoran los NULL.
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS min_x INTEGER;
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS min_y INTEGER;
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS max_x INTEGER;
+ALTER TABLE blueprints ADD COLUMN IF NOT EXISTS max_y INTEGER;
+
+-- Caja de los puntos codificados en point_data (mismo formato que PointCodec: deltas zigzag + varint de 32 bits
+-- con desborde). Solo para el backfill de abajo.
+CREATE OR REPLACE FUNCTION point_data_bounds(data BYTEA, n INTEGER) RETURNS INTEGER[] AS $$
+DECLARE
+    pos INTEGER := 0;
+    coord BIGINT[] := ARRAY[0, 0];
+    bounds INTEGER[];
+    v BIGINT;
+    shift INTEGER;
+    b INTEGER;
+BEGIN
+    FOR i IN 1..n LOOP
+        FOR axis IN 1..2 LOOP
+            v := 0;
+            shift := 0;
+            LOOP
+                b := get_byte(data, pos);
+                pos := pos + 1;
+                v := (v | ((b & 127)::BIGINT << shift)) & 4294967295;
+                shift := shift + 7;
+                EXIT WHEN b < 128;
+            END LOOP;
+            -- zigzag decode, then wrap the sum back into int range
+            coord[axis] := coord[axis] + ((v >> 1) # -(v & 1));
+            coord[axis] := ((coord[axis] + 2147483648) & 4294967295) - 2147483648;
+        END LOOP;
+        IF bounds IS NULL THEN
+            bounds := ARRAY[coord[1], coord[2], coord[1], coord[2]];
+        ELSE
+            bounds := ARRAY[LEAST(bounds[1], coord[1]), LEAST(bounds[2], coord[2]),
+                            GREATEST(bounds[3], coord[1]), GREATEST(bounds[4], coord[2])];
+        END IF;
+    END LOOP;
+    RETURN bounds;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE STRICT;
+
+UPDATE blueprints b SET min_x = d.bounds[1], min_y = d.bounds[2], max_x = d.bounds[3], max_y = d.bounds[4]
+FROM (SELECT id, point_data_bounds(point_data, packed_count) AS bounds FROM blueprints WHERE packed_count > 0) d
+WHERE b.id = d.id;
+
+DROP FUNCTION point_data_bounds(BYTEA, INTEGER);
+
+-- La cola en points se suma a lo que haya dado point_data
+UPDATE blueprints b SET min_x = LEAST(b.min_x, p.min_x), min_y = LEAST(b.min_y, p.min_y),
+                        max_x = GREATEST(b.max_x, p.max_x), max_y = GREATEST(b.max_y, p.max_y)
+FROM (SELECT blueprint_id, MIN(x) AS min_x, MIN(y) AS min_y, MAX(x) AS max_x, MAX(y) AS max_y
+      FROM points GROUP BY blueprint_id) p
+WHERE b.id = p.blueprint_id;
+
+-- Consultas por ventana: la condición box(...) && box(...) de PostgresBlueprintPersistence recorre este índice
+-- GiST en lugar de la tabla (tipo box nativo, sin PostGIS). Los blueprints sin puntos tienen caja NULL y no
+-- coinciden con ninguna ventana.
+CREATE INDEX IF NOT EXISTS blueprints_bbox_idx ON blueprints
+    USING gist (box(point(min_x, min_y), point(max_x, max_y)));
+ANALYZE blueprints;
@@ -0,0 +1,36 @@
+-- Blueprints de ejemplo. Solo se cargan con la ubicación classpath:db/seed (application.properties); las pruebas
+-- de integración usan únicamente db/migration. Idempotente: Flyway lo vuelve a ejecutar si este archivo cambia.
+
+INSERT INTO blueprints (author, name) VALUES
+    ('john', 'house'),
+    ('john', 'garage'),
+    ('jane', 'garden'),
+    ('john', 'kitchen')
+ON CONFLICT (author, name) DO NOTHING;
+
+INSERT INTO points (blueprint_id, x, y, point_order)
+SELECT b.id, v.x, v.y, v.point_order
+FROM (VALUES
+        ('john', 'house', 0, 0, 0),
+        ('john', 'house', 10, 0, 1),
+        ('john', 'house', 10, 10, 2),
+        ('john', 'house', 0, 10, 3),
+        ('john', 'garage', 5, 5, 0),
+        ('john', 'garage', 15, 5, 1),
+        ('john', 'garage', 15, 15, 2),
+        ('jane', 'garden', 2, 2, 0),
+        ('jane', 'garden', 3, 4, 1),
+        ('jane', 'garden', 6, 7, 2)
+     ) AS v(author, name, x, y, point_order)
+JOIN blueprints b ON b.author = v.author AND b.name = v.name
+WHERE b.point_count = 0;
+
+-- Contador de puntos (también el point_order del siguiente) de los blueprints que acaban de recibir sus puntos
+UPDATE blueprints b SET point_count = (SELECT COUNT(*) FROM points p WHERE p.blueprint_id = b.id)
+WHERE b.point_count = 0 AND b.packed_count = 0;
+
+-- Caja de los puntos recién cargados (V3)
+UPDATE blueprints b SET min_x = p.min_x, min_y = p.min_y, max_x = p.max_x, max_y = p.max_y
+FROM (SELECT blueprint_id, MIN(x) AS min_x, MIN(y) AS min_y, MAX(x) AS max_x, MAX(y) AS max_y
+      FROM points GROUP BY blueprint_id) p
+WHERE b.id = p.blueprint_id AND b.min_x IS NULL AND b.packed_count = 0;
@@ -1,11 +1,21 @@
 package edu.eci.arsw.blueprints.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.BlueprintPage;
+import edu.eci.arsw.blueprints.model.ImportRejection;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.PackedPoints;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.BlueprintAlreadyExistsException;
 import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.services.BlueprintImportService;
 import edu.eci.arsw.blueprints.services.BlueprintsServices;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,21 +25,32 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = BlueprintsAPIController.class)
-@Import(RestExceptionHandler.class)
+@Import({RestExceptionHandler.class, SimpleMeterRegistry.class})
 class BlueprintsAPIControllerTest {
 
     @Autowired
@@ -38,21 +59,167 @@ class BlueprintsAPIControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @MockBean
     private BlueprintsServices services;
 
+    @MockBean
+    private BlueprintImportService importService;
+
     @Test
     @DisplayName("GET /api/v1/blueprints returns 200 with ApiResponse envelope")
     void getAllBlueprints() throws Exception {
-        Set<Blueprint> blueprints = Set.of(new Blueprint("john", "house", List.of(new Point(0, 0))));
-        when(services.getAllBlueprints()).thenReturn(blueprints);
+        Set<Blueprint> blueprints = Set.of(new Blueprint("john", "house", List.of(new Point(0, 0), new Point(-3, 7))));
+        when(services.getAllBlueprints(null)).thenReturn(blueprints);
 
         mockMvc.perform(get("/api/v1/blueprints"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.code").value(200))
                 .andExpect(jsonPath("$.message").value("execute ok"))
                 .andExpect(jsonPath("$.data[0].author").value("john"))
+                .andExpect(jsonPath("$.data[0].name").value("house"))
+                .andExpect(jsonPath("$.data[0].points[1].x").value(-3))
+                .andExpect(jsonPath("$.data[0].points[1].y").value(7));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints?filters= applies the requested pipeline")
+    void getAllBlueprintsWithFilters() throws Exception {
+        when(services.getAllBlueprints("redundancy,undersampling"))
+                .thenReturn(Set.of(new Blueprint("john", "house", List.of(new Point(0, 0)))));
+
+        mockMvc.perform(get("/api/v1/blueprints").param("filters", "redundancy,undersampling"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].points.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints/{author}/{bpname}?maxPoints= reads a lower level of detail")
+    void getBlueprintAtLevelOfDetail() throws Exception {
+        when(services.getBlueprint("john", "house", null, null, 2, null))
+                .thenReturn(new Blueprint("john", "house", List.of(new Point(0, 0), new Point(9, 9))));
+
+        mockMvc.perform(get("/api/v1/blueprints/john/house").param("maxPoints", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.points.length()").value(2));
+        mockMvc.perform(get("/api/v1/blueprints/john/house").param("maxPoints", "1"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/blueprints/john/house").param("lod", "32"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints/window?bbox= lists the blueprints that intersect the window")
+    void getBlueprintsWithinWindow() throws Exception {
+        when(services.getBlueprintsWithin("0,0,10,10", false, null))
+                .thenReturn(List.of(new Blueprint("john", "house", List.of())));
+        when(services.getBlueprintsWithin("10,10,0,0", true, null))
+                .thenThrow(new BadRequestException("bounding box min must not exceed max"));
+
+        mockMvc.perform(get("/api/v1/blueprints/window").param("bbox", "0,0,10,10").param("points", "false"))
+                .andExpect(status().isOk())
                 .andExpect(jsonPath("$.data[0].name").value("house"));
+        mockMvc.perform(get("/api/v1/blueprints/window").param("bbox", "10,10,0,0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/v1/blueprints/window"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints/{author}/{bpname}?bbox= clips the blueprint to the window")
+    void getBlueprintClippedToWindow() throws Exception {
+        when(services.getBlueprint("john", "house", null, null, null, "0,0,5,5"))
+                .thenReturn(new Blueprint("john", "house", List.of(new Point(0, 0))));
+
+        mockMvc.perform(get("/api/v1/blueprints/john/house").param("bbox", "0,0,5,5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.points.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints/{author}/{bpname}?sincePoint= returns only the appended tail")
+    void getPointsSince() throws Exception {
+        when(services.getPointsSince("john", "house", 4))
+                .thenReturn(new BlueprintDelta("john", "house", 4, 5, 1, PackedPoints.of(List.of(new Point(5, 5)))));
+
+        mockMvc.perform(get("/api/v1/blueprints/john/house").param("sincePoint", "4"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.pointCount").value(5))
+                .andExpect(jsonPath("$.data.version").value(1))
+                .andExpect(jsonPath("$.data.points.length()").value(1));
+        mockMvc.perform(get("/api/v1/blueprints/john/house").param("sincePoint", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints/export?filters= rejects unknown stages before streaming")
+    void exportUnknownFilter() throws Exception {
+        when(services.filter("bogus")).thenThrow(new BadRequestException("unknown filter 'bogus'"));
+
+        mockMvc.perform(get("/api/v1/blueprints/export").param("filters", "bogus"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("unknown filter 'bogus'"));
+        verify(services, never()).exportBlueprints(any(), any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints?limit= returns a page with the next cursor")
+    void getBlueprintsPage() throws Exception {
+        BlueprintPage page = new BlueprintPage(List.of(new Blueprint("jane", "garden", List.of())), "amFuZQBnYXJkZW4");
+        when(services.getBlueprintsPage("abc", 1, false, null)).thenReturn(page);
+
+        mockMvc.perform(get("/api/v1/blueprints").param("limit", "1").param("cursor", "abc").param("points", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.data.items[0].name").value("garden"))
+                .andExpect(jsonPath("$.data.nextCursor").value("amFuZQBnYXJkZW4"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints?limit= rejects page sizes out of range")
+    void getBlueprintsPageInvalidLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+        mockMvc.perform(get("/api/v1/blueprints").param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints?cursor= without limit is a 400, not the full listing")
+    void getBlueprintsCursorWithoutLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/blueprints").param("cursor", "abc"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400))
+                .andExpect(jsonPath("$.message").value("cursor requires limit"));
+        verifyNoInteractions(services);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/blueprints/export streams one blueprint per line")
+    @SuppressWarnings("unchecked")
+    void exportStreamsNdjson() throws Exception {
+        doAnswer(inv -> {
+            Consumer<Blueprint> sink = inv.getArgument(0);
+            sink.accept(new Blueprint("jane", "garden", List.of(new Point(2, 2))));
+            sink.accept(new Blueprint("john", "house", List.of()));
+            return null;
+        }).when(services).exportBlueprints(any(Consumer.class), any());
+
+        var pending = mockMvc.perform(get("/api/v1/blueprints/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"author":"jane","name":"garden","points":[{"x":2,"y":2}]}
+                        {"author":"john","name":"house","points":[]}
+                        """));
     }
 
     @Test
@@ -77,7 +244,7 @@ class BlueprintsAPIControllerTest {
     @Test
     @DisplayName("GET /api/v1/blueprints/{author} returns 404 when not found")
     void getByAuthorNotFound() throws Exception {
-        when(services.getBlueprintsByAuthor("ghost")).thenThrow(new BlueprintNotFoundException("Author not found"));
+        when(services.getBlueprintsByAuthor("ghost", null)).thenThrow(new BlueprintNotFoundException("Author not found"));
 
         mockMvc.perform(get("/api/v1/blueprints/ghost"))
                 .andExpect(status().isNotFound())
@@ -85,6 +252,19 @@ class BlueprintsAPIControllerTest {
                 .andExpect(jsonPath("$.message").value("Author not found"));
     }
 
+    @Test
+    @DisplayName("Error responses are counted in blueprints.api.errors by status and exception")
+    void errorResponsesAreCounted() throws Exception {
+        when(services.getBlueprintsByAuthor("ghost", null)).thenThrow(new BlueprintNotFoundException("Author not found"));
+        Counter notFound = meterRegistry.counter("blueprints.api.errors",
+                "status", "404", "exception", "BlueprintNotFoundException");
+        double before = notFound.count();
+
+        mockMvc.perform(get("/api/v1/blueprints/ghost")).andExpect(status().isNotFound());
+
+        assertThat(notFound.count()).isEqualTo(before + 1);
+    }
+
     @Test
     @DisplayName("POST /api/v1/blueprints returns 409 when blueprint already exists")
     void createBlueprintConflict() throws Exception {
@@ -121,4 +301,59 @@ class BlueprintsAPIControllerTest {
                 .andExpect(jsonPath("$.code").value(400))
                 .andExpect(jsonPath("$.message", containsString("author: must not be blank")));
     }
+
+    @Test
+    @DisplayName("POST /api/v1/blueprints/{author}/{bpname}/points appends all points and returns 202")
+    void appendPoints() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/john/house/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"x\":1,\"y\":2},{\"x\":3,\"y\":4}]"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.code").value(202));
+
+        verify(services).addPoints("john", "house", List.of(new Point(1, 2), new Point(3, 4)));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/blueprints/{author}/{bpname}/points rejects an empty batch")
+    void appendPointsEmpty() throws Exception {
+        mockMvc.perform(post("/api/v1/blueprints/john/house/points")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value(400));
+
+        verifyNoInteractions(services);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/blueprints/import with NDJSON returns the import report")
+    void importNdjson() throws Exception {
+        ImportReport report = new ImportReport(1, 2, 1, List.of(new ImportRejection(2, "john", "house", "already exists")));
+        when(importService.importNdjson(any(InputStream.class))).thenReturn(report);
+
+        mockMvc.perform(post("/api/v1/blueprints/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"author\":\"ann\",\"name\":\"a\",\"points\":[{\"x\":1,\"y\":1},{\"x\":2,\"y\":2}]}\n"
+                                + "{\"author\":\"john\",\"name\":\"house\",\"points\":[]}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.points").value(2))
+                .andExpect(jsonPath("$.data.rejections[0].line").value(2))
+                .andExpect(jsonPath("$.data.rejections[0].reason").value("already exists"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/blueprints/import with CSV goes to the CSV reader")
+    void importCsv() throws Exception {
+        when(importService.importCsv(any(InputStream.class))).thenReturn(new ImportReport(1, 1, 0, List.of()));
+
+        mockMvc.perform(post("/api/v1/blueprints/import")
+                        .contentType("text/csv")
+                        .content("ann,a,1,1\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1));
+
+        verify(importService).importCsv(any(InputStream.class));
+    }
 }
@@ -0,0 +1,107 @@
+package edu.eci.arsw.blueprints.controllers;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.services.ReactiveBlueprintsServices;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ReactiveBlueprintsAPIController.class)
+@Import({RestExceptionHandler.class, SimpleMeterRegistry.class})
+class ReactiveBlueprintsAPIControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveBlueprintsServices services;
+
+    @Test
+    @DisplayName("GET /api/v1/reactive/blueprints/{author}/{bpname} returns 200 with ApiResponse envelope")
+    void getBlueprint() throws Exception {
+        when(services.getBlueprint("john", "house"))
+                .thenReturn(Mono.just(new Blueprint("john", "house", List.of(new Point(1, 2)))));
+
+        var pending = mockMvc.perform(get("/api/v1/reactive/blueprints/john/house"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value(200))
+                .andExpect(jsonPath("$.message").value("execute ok"))
+                .andExpect(jsonPath("$.data.points[0].y").value(2));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reactive/blueprints/{author}/{bpname} returns 404 ApiResponse when not found")
+    void getBlueprintNotFound() throws Exception {
+        when(services.getBlueprint("ghost", "none"))
+                .thenReturn(Mono.error(new BlueprintNotFoundException("Blueprint not found: ghost/none")));
+
+        var pending = mockMvc.perform(get("/api/v1/reactive/blueprints/ghost/none"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(404))
+                .andExpect(jsonPath("$.message").value("Blueprint not found: ghost/none"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reactive/blueprints/{author} streams one blueprint per line")
+    void streamByAuthor() throws Exception {
+        when(services.getBlueprintsByAuthor("jane")).thenReturn(Flux.just(
+                new Blueprint("jane", "garden", List.of(new Point(2, 2))),
+                new Blueprint("jane", "pool", List.of())));
+
+        var pending = mockMvc.perform(get("/api/v1/reactive/blueprints/jane"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("""
+                        {"author":"jane","name":"garden","points":[{"x":2,"y":2}]}
+                        {"author":"jane","name":"pool","points":[]}
+                        """));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/reactive/blueprints/{author} returns 404 ApiResponse before streaming anything")
+    void streamByUnknownAuthor() throws Exception {
+        when(services.getBlueprintsByAuthor("ghost"))
+                .thenReturn(Flux.error(new BlueprintNotFoundException("No blueprints found for author: ghost")));
+
+        var pending = mockMvc.perform(get("/api/v1/reactive/blueprints/ghost"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value(404))
+                .andExpect(jsonPath("$.message").value("No blueprints found for author: ghost"));
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DouglasPeuckerFilterTest {
+
+    private final DouglasPeuckerFilter filter = new DouglasPeuckerFilter(1.0);
+
+    @Test
+    void returnsSameBlueprintWithTwoPointsOrFewer() {
+        Blueprint blueprint = new Blueprint("author", "two", List.of(new Point(0, 0), new Point(5, 5)));
+
+        assertThat(filter.apply(blueprint)).isSameAs(blueprint);
+    }
+
+    @Test
+    void collapsesNearlyStraightStrokesToTheirEnds() {
+        List<Point> points = IntStream.range(0, 1000).mapToObj(i -> new Point(i, i % 2)).toList();
+
+        Blueprint result = filter.apply(new Blueprint("author", "line", points));
+
+        assertThat(result.getPoints()).containsExactly(new Point(0, 0), new Point(999, 1));
+    }
+
+    @Test
+    void keepsCornersBeyondTheTolerance() {
+        Blueprint blueprint = new Blueprint("author", "corner", List.of(
+                new Point(0, 0), new Point(5, 0), new Point(10, 0), new Point(10, 5), new Point(10, 10)));
+
+        Blueprint result = filter.apply(blueprint);
+
+        assertThat(result.getPoints()).containsExactly(new Point(0, 0), new Point(10, 0), new Point(10, 10));
+    }
+
+    @Test
+    void closedStrokesKeepTheirFarthestPoints() {
+        Blueprint square = new Blueprint("author", "square", List.of(
+                new Point(0, 0), new Point(10, 0), new Point(10, 10), new Point(0, 10), new Point(0, 0)));
+
+        assertThat(filter.apply(square).getPoints()).isEqualTo(square.getPoints());
+    }
+
+    @Test
+    void keepsEveryPointOfAZigzag() {
+        List<Point> points = IntStream.range(0, 5_000).mapToObj(i -> new Point(i, i % 2 * 10)).toList();
+
+        Blueprint result = filter.apply(new Blueprint("author", "zigzag", points));
+
+        assertThat(result.getPoints()).isEqualTo(points);
+    }
+
+    @Test
+    void toleranceIsPartOfTheCacheKey() {
+        assertThat(new DouglasPeuckerFilter(1.0).key()).isEqualTo(filter.key())
+                .isNotEqualTo(new DouglasPeuckerFilter(2.5).key());
+    }
+
+    @Test
+    void rejectsNegativeTolerance() {
+        assertThatThrownBy(() -> new DouglasPeuckerFilter(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
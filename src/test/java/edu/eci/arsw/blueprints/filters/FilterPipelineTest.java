@@ -0,0 +1,74 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterPipelineTest {
+
+    private final RedundancyFilter redundancy = new RedundancyFilter();
+    private final UndersamplingFilter undersampling = new UndersamplingFilter();
+
+    @Test
+    void fusedPassMatchesApplyingEachFilterInTurn() {
+        Random random = new Random(7);
+        BlueprintsFilter pipeline = FilterPipeline.of("redundancy,undersampling");
+        BlueprintsFilter reversed = FilterPipeline.of("undersampling, redundancy");
+        // stacked bounds: each undersampling stage halves the buffer, down to two points
+        BlueprintsFilter twice = FilterPipeline.of("undersampling,undersampling");
+        for (int n = 0; n < 40; n++) {
+            // few distinct coordinates so that consecutive duplicates are common
+            List<Point> points = IntStream.range(0, n)
+                    .mapToObj(i -> new Point(random.nextInt(2), random.nextInt(2)))
+                    .toList();
+            Blueprint bp = new Blueprint("author", "bp-" + n, points);
+
+            assertThat(pipeline.apply(bp).getPoints())
+                    .isEqualTo(undersampling.apply(redundancy.apply(bp)).getPoints());
+            assertThat(reversed.apply(bp).getPoints())
+                    .isEqualTo(redundancy.apply(undersampling.apply(bp)).getPoints());
+            assertThat(twice.apply(bp).getPoints())
+                    .isEqualTo(undersampling.apply(undersampling.apply(bp)).getPoints());
+        }
+    }
+
+    @Test
+    void undersamplingStageKeepsBothPointsWhenOnlyTwoReachIt() {
+        Blueprint bp = new Blueprint("author", "pair", List.of(
+                new Point(0, 0), new Point(0, 0), new Point(1, 1), new Point(1, 1)));
+
+        Blueprint result = FilterPipeline.of("redundancy,undersampling").apply(bp);
+
+        assertThat(result.getPoints()).containsExactly(new Point(0, 0), new Point(1, 1));
+    }
+
+    @Test
+    void fewerThanTwoStagesNeedNoPipeline() {
+        assertThat(FilterPipeline.of("")).isInstanceOf(IdentityFilter.class);
+        assertThat(FilterPipeline.of(" redundancy ")).isInstanceOf(RedundancyFilter.class);
+        assertThat(FilterPipeline.of("redundancy,undersampling")).isInstanceOf(FilterPipeline.class)
+                .extracting(f -> ((FilterPipeline) f).stages())
+                .isEqualTo(List.of("redundancy", "undersampling"));
+    }
+
+    @Test
+    void stageOrderIsPartOfTheCacheKey() {
+        assertThat(FilterPipeline.of("redundancy,undersampling").key())
+                .isNotEqualTo(FilterPipeline.of("undersampling,redundancy").key())
+                .isNotEqualTo(redundancy.key());
+    }
+
+    @Test
+    void rejectsUnknownStages() {
+        assertThatThrownBy(() -> FilterPipeline.of("redundancy,smoothing"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("smoothing");
+    }
+}
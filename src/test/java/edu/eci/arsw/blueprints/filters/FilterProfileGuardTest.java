@@ -0,0 +1,33 @@
+package edu.eci.arsw.blueprints.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilterProfileGuardTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withUserConfiguration(FilterPipelineConfig.class, FilterProfileGuard.class, RedundancyFilter.class,
+                    UndersamplingFilter.class, DouglasPeuckerFilter.class, VisvalingamFilter.class);
+
+    @Test
+    void profilesThePipelineCannotChainFailWithAClearMessage() {
+        runner.withPropertyValues("spring.profiles.active=douglas-peucker,redundancy").run(context ->
+                assertThat(context).hasFailed().getFailure().rootCause()
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("douglas-peucker").hasMessageContaining("redundancy")
+                        .hasMessageContaining("blueprints.filter.pipeline"));
+        runner.withPropertyValues("spring.profiles.active=douglas-peucker,visvalingam").run(context ->
+                assertThat(context).hasFailed().getFailure().rootCause().isInstanceOf(IllegalStateException.class));
+    }
+
+    @Test
+    void chainableProfilesAndAConfiguredPipelineStart() {
+        runner.withPropertyValues("spring.profiles.active=redundancy,undersampling").run(context ->
+                assertThat(context).hasNotFailed().getBean(BlueprintsFilter.class).isInstanceOf(FilterPipeline.class));
+        runner.withPropertyValues("spring.profiles.active=douglas-peucker,redundancy",
+                "blueprints.filter.pipeline=redundancy").run(context ->
+                assertThat(context).hasNotFailed().getBean(BlueprintsFilter.class).isInstanceOf(RedundancyFilter.class));
+    }
+}
@@ -0,0 +1,22 @@
+package edu.eci.arsw.blueprints.filters;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles({"redundancy", "undersampling"})
+class FilterProfileSelectionCombinedTest {
+
+    @Autowired
+    private BlueprintsFilter filter;
+
+    @Test
+    void bothProfilesChainRedundancyThenUndersampling() {
+        assertThat(filter).isInstanceOf(FilterPipeline.class);
+        assertThat(((FilterPipeline) filter).stages()).containsExactly("redundancy", "undersampling");
+    }
+}
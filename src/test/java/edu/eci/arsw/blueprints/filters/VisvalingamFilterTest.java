@@ -0,0 +1,66 @@
+package edu.eci.arsw.blueprints.filters;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VisvalingamFilterTest {
+
+    private final VisvalingamFilter filter = new VisvalingamFilter(1.0);
+
+    @Test
+    void returnsSameBlueprintWithTwoPointsOrFewer() {
+        Blueprint blueprint = new Blueprint("author", "two", List.of(new Point(0, 0), new Point(5, 5)));
+
+        assertThat(filter.apply(blueprint)).isSameAs(blueprint);
+    }
+
+    @Test
+    void collapsesStraightStrokesToTheirEnds() {
+        List<Point> points = IntStream.range(0, 1000).mapToObj(i -> new Point(i, 2 * i)).toList();
+
+        Blueprint result = filter.apply(new Blueprint("author", "line", points));
+
+        assertThat(result.getPoints()).containsExactly(new Point(0, 0), new Point(999, 1998));
+    }
+
+    @Test
+    void keepsTrianglesLargerThanTheMinimumArea() {
+        Blueprint blueprint = new Blueprint("author", "peaks", List.of(
+                new Point(0, 0), new Point(1, 1), new Point(2, 0), new Point(6, 8), new Point(10, 0)));
+
+        Blueprint result = filter.apply(blueprint);
+
+        // (1,1) spans an area of exactly 1 and survives; with a larger threshold it goes, and (2,0) then spans 8
+        assertThat(result.getPoints()).isEqualTo(blueprint.getPoints());
+        assertThat(new VisvalingamFilter(2).apply(blueprint).getPoints())
+                .containsExactly(new Point(0, 0), new Point(2, 0), new Point(6, 8), new Point(10, 0));
+    }
+
+    @Test
+    void everyKeptPointSpansAtLeastTheMinimumArea() {
+        Random random = new Random(11);
+        for (int round = 0; round < 50; round++) {
+            List<Point> points = IntStream.range(0, 3 + random.nextInt(200))
+                    .mapToObj(i -> new Point(random.nextInt(10_000), random.nextInt(10_000)))
+                    .toList();
+            double minArea = random.nextDouble() * 1e7;
+
+            PackedPoints kept = new VisvalingamFilter(minArea).apply(new Blueprint("author", "random", points)).getPoints();
+
+            assertThat(kept.get(0)).isEqualTo(points.get(0));
+            assertThat(kept.get(kept.size() - 1)).isEqualTo(points.get(points.size() - 1));
+            assertThat(points).containsSubsequence(kept);
+            for (int i = 1; i < kept.size() - 1; i++) {
+                assertThat(VisvalingamFilter.doubledArea(kept, i - 1, i, i + 1)).isGreaterThanOrEqualTo(2 * minArea);
+            }
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.BlueprintPersistence;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HotPathMetricsAspectTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private <T> T metered(T target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new HotPathMetricsAspect(registry, new FilterMetrics(registry)));
+        return factory.getProxy();
+    }
+
+    private long timerCount(String method, String outcome) {
+        return registry.get("blueprints.persistence").tag("method", method).tag("outcome", outcome).timer().count();
+    }
+
+    private DistributionSummary points(String name, String tag, String value) {
+        return registry.get(name).tag(tag, value).summary();
+    }
+
+    @Test
+    void persistenceCallsAreTimedWithThePointsTheyMove() throws Exception {
+        BlueprintPersistence persistence = metered((BlueprintPersistence) new InMemoryBlueprintPersistence());
+
+        persistence.saveBlueprint(new Blueprint("ann", "tower", List.of(new Point(0, 0), new Point(1, 1))));
+        persistence.addPoint("ann", "tower", 2, 2);
+        persistence.addPoints("ann", "tower", List.of(new Point(3, 3), new Point(4, 4)));
+        persistence.getBlueprint("ann", "tower");
+        List<Blueprint> exported = new ArrayList<>();
+        persistence.forEachBlueprint(exported::add);
+        assertThatThrownBy(() -> persistence.getBlueprint("ann", "missing")).isInstanceOf(BlueprintNotFoundException.class);
+
+        assertThat(timerCount("saveBlueprint", "success")).isEqualTo(1);
+        assertThat(timerCount("getBlueprint", "success")).isEqualTo(1);
+        assertThat(timerCount("getBlueprint", "error")).isEqualTo(1);
+        assertThat(points("blueprints.persistence.points.in", "method", "saveBlueprint").totalAmount()).isEqualTo(2);
+        assertThat(points("blueprints.persistence.points.in", "method", "addPoint").totalAmount()).isEqualTo(1);
+        assertThat(points("blueprints.persistence.points.in", "method", "addPoints").totalAmount()).isEqualTo(2);
+        assertThat(points("blueprints.persistence.points.out", "method", "getBlueprint").totalAmount()).isEqualTo(5);
+        assertThat(exported).isNotEmpty();
+        assertThat(points("blueprints.persistence.points.out", "method", "forEachBlueprint").totalAmount())
+                .isEqualTo(exported.stream().mapToInt(bp -> bp.getPoints().size()).sum());
+    }
+
+    @Test
+    void importsRecordTheImportedPointsIn() throws Exception {
+        BlueprintPersistence persistence = metered((BlueprintPersistence) new InMemoryBlueprintPersistence());
+
+        persistence.importBlueprints(List.of(
+                new ImportRecord(1, new Blueprint("ann", "tower", List.of(new Point(0, 0), new Point(1, 1)))),
+                new ImportRecord(2, new Blueprint("ann", "tower", List.of(new Point(5, 5)))),
+                new ImportRecord(3, new Blueprint("ann", "wall", List.of(new Point(2, 2))))).iterator());
+
+        // the rejected duplicate wrote nothing
+        assertThat(points("blueprints.persistence.points.in", "method", "importBlueprints").totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void filterCallsAreTimedWithPointsInAndOut() {
+        BlueprintsFilter filter = metered((BlueprintsFilter) new RedundancyFilter());
+
+        filter.apply(new Blueprint("ann", "tower", List.of(new Point(0, 0), new Point(0, 0), new Point(1, 1))));
+        filter.apply(new Blueprint("ann", "wall", List.of(new Point(5, 5))));
+
+        assertThat(registry.get("blueprints.filter").tag("filter", "RedundancyFilter").timer().count()).isEqualTo(2);
+        assertThat(points("blueprints.filter.points.in", "filter", "RedundancyFilter").totalAmount()).isEqualTo(4);
+        assertThat(points("blueprints.filter.points.out", "filter", "RedundancyFilter").totalAmount()).isEqualTo(3);
+    }
+}
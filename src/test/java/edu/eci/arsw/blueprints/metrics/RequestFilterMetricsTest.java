@@ -0,0 +1,57 @@
+package edu.eci.arsw.blueprints.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/** Los filtros de {@code ?filters=} se arman por petición, fuera del alcance del aspecto: igual deben medirse. */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestFilterMetricsTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    private long filterCount(String filter) {
+        Timer timer = registry.find("blueprints.filter").tag("filter", filter).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double pointsIn(String filter) {
+        var summary = registry.find("blueprints.filter.points.in").tag("filter", filter).summary();
+        return summary == null ? 0 : summary.totalAmount();
+    }
+
+    @Test
+    void pipelineFromFiltersParameterIsTimed() throws Exception {
+        long before = filterCount("FilterPipeline");
+        double pointsBefore = pointsIn("FilterPipeline");
+
+        mvc.perform(get("/api/v1/blueprints/john/house").param("filters", "redundancy,undersampling"))
+                .andExpect(status().isOk());
+
+        assertThat(filterCount("FilterPipeline")).isEqualTo(before + 1);
+        assertThat(pointsIn("FilterPipeline")).isGreaterThan(pointsBefore);
+    }
+
+    @Test
+    void singleStageFromFiltersParameterIsTimed() throws Exception {
+        long before = filterCount("UndersamplingFilter");
+
+        mvc.perform(get("/api/v1/blueprints/john").param("filters", "undersampling"))
+                .andExpect(status().isOk());
+
+        assertThat(filterCount("UndersamplingFilter")).isGreaterThan(before);
+    }
+}
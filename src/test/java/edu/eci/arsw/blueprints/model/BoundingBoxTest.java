@@ -0,0 +1,55 @@
+package edu.eci.arsw.blueprints.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundingBoxTest {
+
+    @Test
+    void parsesWindowAndRejectsMalformedOnes() {
+        assertThat(BoundingBox.parse("-5, 0,10,20")).isEqualTo(new BoundingBox(-5, 0, 10, 20));
+
+        for (String bad : List.of("", "1,2,3", "1,2,3,4,5", "a,0,1,1", "10,0,0,10")) {
+            assertThatThrownBy(() -> BoundingBox.parse(bad)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    void intersectionIncludesTouchingEdges() {
+        BoundingBox box = new BoundingBox(0, 0, 10, 10);
+
+        assertThat(box.intersects(new BoundingBox(10, 10, 20, 20))).isTrue();
+        assertThat(box.intersects(new BoundingBox(-5, 3, -1, 4))).isFalse();
+        assertThat(box.intersects(new BoundingBox(2, 2, 3, 3))).isTrue();
+        assertThat(box.intersects(new BoundingBox(-5, -5, 50, 50))).isTrue();
+    }
+
+    @Test
+    void blueprintBoundsGrowWithAppends() {
+        Blueprint bp = new Blueprint("john", "walk", List.of());
+        assertThat(bp.getBounds()).isNull();
+
+        bp.addPoint(3, 4);
+        assertThat(bp.getBounds()).isEqualTo(new BoundingBox(3, 4, 3, 4));
+        bp.addPoint(-1, 9);
+        bp.addPoints(PackedPoints.of(List.of(new Point(7, 0), new Point(2, 2))));
+
+        assertThat(bp.getBounds()).isEqualTo(new BoundingBox(-1, 0, 7, 9));
+        assertThat(bp.getBounds()).isEqualTo(BoundingBox.of(bp.getPoints()));
+    }
+
+    @Test
+    void boundsComputedAfterAppendsMatchAFullScan() {
+        List<Point> points = new ArrayList<>();
+        for (int i = 0; i < 100; i++) points.add(new Point(i * 7 % 31 - 15, i * 13 % 17));
+        Blueprint bp = new Blueprint("john", "scan", points);
+        bp.addPoint(100, -100);
+
+        assertThat(bp.getBounds()).isEqualTo(new BoundingBox(-15, -100, 100, 16));
+    }
+}
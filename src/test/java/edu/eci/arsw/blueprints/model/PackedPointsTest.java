@@ -0,0 +1,90 @@
+package edu.eci.arsw.blueprints.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PackedPointsTest {
+
+    @Test
+    void packRoundTripsSignedCoordinates() {
+        int[] values = {0, 1, -1, 7, -7, Integer.MAX_VALUE, Integer.MIN_VALUE};
+        for (int x : values) {
+            for (int y : values) {
+                long packed = PackedPoints.pack(x, y);
+                assertThat(PackedPoints.unpackX(packed)).isEqualTo(x);
+                assertThat(PackedPoints.unpackY(packed)).isEqualTo(y);
+            }
+        }
+    }
+
+    @Test
+    void tailCopiesThePointsFromAnIndex() {
+        PackedPoints points = PackedPoints.of(List.of(new Point(1, 2), new Point(-3, 4), new Point(5, 6)));
+
+        assertThat(points.tail(1)).containsExactly(new Point(-3, 4), new Point(5, 6));
+        assertThat(points.tail(3)).isEmpty();
+        assertThat(points.tail(10)).isEmpty();
+    }
+
+    @Test
+    void behavesAsListOfPoints() {
+        PackedPoints points = PackedPoints.of(List.of(new Point(1, 2), new Point(-3, 4)));
+
+        assertThat(points).isEqualTo(List.of(new Point(1, 2), new Point(-3, 4)));
+        assertThat(points.x(1)).isEqualTo(-3);
+        assertThat(points.y(1)).isEqualTo(4);
+    }
+
+    @Test
+    void adoptedPointsAreCopiedOnFirstAppend() {
+        PackedPoints source = PackedPoints.of(List.of(new Point(1, 1), new Point(2, 2)));
+        Blueprint a = new Blueprint("author", "a", source);
+        Blueprint b = new Blueprint("author", "b", source);
+
+        a.addPoint(3, 3);
+        b.addPoint(4, 4);
+
+        assertThat(source).containsExactly(new Point(1, 1), new Point(2, 2));
+        assertThat(a.getPoints()).containsExactly(new Point(1, 1), new Point(2, 2), new Point(3, 3));
+        assertThat(b.getPoints()).containsExactly(new Point(1, 1), new Point(2, 2), new Point(4, 4));
+    }
+
+    @Test
+    void batchAppendCopiesAdoptedArrayAndCountsAsOneModification() {
+        PackedPoints source = PackedPoints.of(List.of(new Point(1, 1)));
+        Blueprint bp = new Blueprint("author", "bp", source);
+
+        bp.addPoints(PackedPoints.of(List.of(new Point(2, 2), new Point(3, 3))));
+        bp.addPoints(PackedPoints.EMPTY);
+
+        assertThat(source).containsExactly(new Point(1, 1));
+        assertThat(bp.getPoints()).containsExactly(new Point(1, 1), new Point(2, 2), new Point(3, 3));
+        assertThat(bp.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void snapshotDoesNotSeeLaterAppends() {
+        Blueprint bp = new Blueprint("author", "bp", List.of(new Point(0, 0)));
+        PackedPoints snapshot = bp.getPoints();
+
+        bp.addPoint(1, 1);
+
+        assertThat(snapshot).containsExactly(new Point(0, 0));
+        assertThat(bp.getPoints()).hasSize(2);
+    }
+
+    @Test
+    void serializesStraightFromPackedArray() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Blueprint bp = new Blueprint("john", "house", List.of(new Point(0, 0), new Point(-3, 7)));
+
+        assertThat(mapper.getSerializerProviderInstance().findValueSerializer(PackedPoints.class))
+                .isInstanceOf(PackedPointsSerializer.class);
+        assertThat(mapper.writeValueAsString(bp))
+                .isEqualTo("{\"author\":\"john\",\"name\":\"house\",\"points\":[{\"x\":0,\"y\":0},{\"x\":-3,\"y\":7}]}");
+    }
+}
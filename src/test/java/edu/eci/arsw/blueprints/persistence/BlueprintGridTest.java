@@ -0,0 +1,78 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BlueprintGridTest {
+
+    private final BlueprintGrid grid = new BlueprintGrid();
+
+    @Test
+    void boxesGoToTheFinestLevelWhereTheySpanTwoCells() {
+        assertThat(BlueprintGrid.cellFor(new BoundingBox(5, 5, 5, 5)).level()).isZero();
+        assertThat(BlueprintGrid.cellFor(new BoundingBox(0, 0, 3, 1)).level()).isEqualTo(1);
+        assertThat(BlueprintGrid.cellFor(new BoundingBox(Integer.MIN_VALUE, 0, Integer.MAX_VALUE, 0)).level())
+                .isEqualTo(31);
+    }
+
+    @Test
+    void blueprintMovesWhenItsBoxOutgrowsItsCell() {
+        Blueprint bp = new Blueprint("john", "walk", List.of(new Point(0, 0)));
+        grid.update(bp);
+        assertThat(grid.intersecting(new BoundingBox(500, 500, 600, 600))).isEmpty();
+
+        bp.addPoint(550, 550);
+        grid.update(bp);
+
+        assertThat(grid.intersecting(new BoundingBox(500, 500, 600, 600))).containsExactly(bp);
+        assertThat(grid.intersecting(new BoundingBox(-1, -1, 0, 0))).containsExactly(bp);
+        assertThat(grid.intersecting(new BoundingBox(600, 0, 700, 10))).isEmpty();
+    }
+
+    @Test
+    void blueprintWithoutPointsIsNotIndexed() {
+        grid.update(new Blueprint("john", "empty", List.of()));
+
+        assertThat(grid.intersecting(new BoundingBox(Integer.MIN_VALUE, Integer.MIN_VALUE,
+                Integer.MAX_VALUE, Integer.MAX_VALUE))).isEmpty();
+    }
+
+    @Test
+    void matchesALinearScanOnRandomBoxes() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Blueprint> all = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            int x = random.nextInt(-100_000, 100_000), y = random.nextInt(-100_000, 100_000);
+            // mostly small boxes, a few spanning much of the plane
+            int size = random.nextInt(10) == 0 ? random.nextInt(200_000) : random.nextInt(500);
+            Blueprint bp = new Blueprint("a", "bp-" + i,
+                    List.of(new Point(x, y), new Point(x + random.nextInt(size + 1), y + random.nextInt(size + 1))));
+            all.add(bp);
+            grid.update(bp);
+        }
+        // grow some of them after indexing
+        for (int i = 0; i < 200; i++) {
+            Blueprint bp = all.get(random.nextInt(all.size()));
+            bp.addPoint(random.nextInt(-100_000, 100_000), random.nextInt(-100_000, 100_000));
+            grid.update(bp);
+        }
+
+        for (int q = 0; q < 200; q++) {
+            int x = random.nextInt(-110_000, 110_000), y = random.nextInt(-110_000, 110_000);
+            int size = random.nextInt(q % 2 == 0 ? 1_000 : 100_000);
+            BoundingBox window = new BoundingBox(x, y, x + size, y + size);
+
+            assertThat(grid.intersecting(window)).containsExactlyInAnyOrderElementsOf(
+                    all.stream().filter(bp -> bp.getBounds().intersects(window)).collect(Collectors.toSet()));
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.ImportRejection;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.services.BlueprintImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Testcontainers
+class BlueprintImportIT {
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("blueprintsdb")
+            .withUsername("blueprintuser")
+            .withPassword("blueprintpass");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private BlueprintImportService importService;
+
+    @Autowired
+    private PostgresBlueprintPersistence persistence;
+
+    @Test
+    void importsNewBlueprintsAndReportsConflictsPerRecord() throws Exception {
+        persistence.saveBlueprint(new Blueprint("import", "existing", List.of(new Point(0, 0))));
+        String ndjson = """
+                {"author":"import","name":"tab\\there","points":[{"x":1,"y":2},{"x":-3,"y":4}]}
+                {"author":"import","name":"existing","points":[{"x":5,"y":5}]}
+                {"author":"import","name":"back\\\\slash","points":[]}
+                {"author":"import","name":"tab\\there","points":[{"x":7,"y":7}]}
+                """;
+
+        ImportReport report = importService.importNdjson(stream(ndjson));
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.points()).isEqualTo(2);
+        assertThat(report.rejections()).extracting(ImportRejection::line, ImportRejection::name, ImportRejection::reason)
+                .containsExactly(tuple(2L, "existing", "already exists"), tuple(4L, "tab\there", "already exists"));
+        assertThat(persistence.getBlueprint("import", "tab\there").getPoints()).containsExactly(new Point(1, 2), new Point(-3, 4));
+        assertThat(persistence.getBlueprint("import", "back\\slash").getPoints()).isEmpty();
+        assertThat(persistence.getBlueprint("import", "existing").getPoints()).containsExactly(new Point(0, 0));
+
+        // imported blueprints take appends like any other
+        persistence.addPoint("import", "tab\there", 9, 9);
+        assertThat(persistence.getBlueprint("import", "tab\there").getPoints()).endsWith(new Point(9, 9));
+    }
+
+    @Test
+    void importsAMillionPointsAndReadsThemBack() throws Exception {
+        int blueprints = 2_000;
+        int pointsEach = 500;
+        StringBuilder ndjson = new StringBuilder(blueprints * pointsEach * 20);
+        for (int b = 0; b < blueprints; b++) {
+            ndjson.append("{\"author\":\"bulk-").append(b % 50).append("\",\"name\":\"bp-").append(b).append("\",\"points\":[");
+            for (int i = 0; i < pointsEach; i++) {
+                if (i > 0) ndjson.append(',');
+                ndjson.append("{\"x\":").append(i).append(",\"y\":").append(b).append('}');
+            }
+            ndjson.append("]}\n");
+        }
+        byte[] body = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+
+        ImportReport report = importService.importNdjson(new ByteArrayInputStream(body));
+
+        assertThat(report.imported()).isEqualTo(blueprints);
+        assertThat(report.points()).isEqualTo((long) blueprints * pointsEach);
+        assertThat(report.rejected()).isZero();
+        assertThat(persistence.getBlueprint("bulk-7", "bp-1007").getPoints())
+                .hasSize(pointsEach).startsWith(new Point(0, 1007), new Point(1, 1007));
+    }
+
+    private static InputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,271 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InMemoryBlueprintPersistenceTest {
+
+    private final InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+
+    @Test
+    void returnsOnlyBlueprintsOfRequestedAuthor() throws Exception {
+        persistence.saveBlueprint(new Blueprint("jane", "pool", List.of(new Point(1, 1))));
+
+        Set<Blueprint> jane = persistence.getBlueprintsByAuthor("jane");
+
+        assertThat(jane).extracting(Blueprint::getName).containsExactlyInAnyOrder("garden", "pool");
+    }
+
+    @Test
+    void unknownAuthorIsNotFound() {
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.getBlueprintsByAuthor("ghost"));
+    }
+
+    @Test
+    void rejectedDuplicateDoesNotReachAuthorIndex() throws Exception {
+        Blueprint original = persistence.getBlueprint("john", "house");
+
+        assertThrows(BlueprintAlreadyExistsException.class,
+                () -> persistence.saveBlueprint(new Blueprint("john", "house", List.of())));
+
+        Blueprint indexed = persistence.getBlueprintsByAuthor("john").stream()
+                .filter(bp -> bp.getName().equals("house")).findFirst().orElseThrow();
+        assertThat(indexed).isSameAs(original);
+    }
+
+    @Test
+    void authorAndNameContainingSeparatorDoNotCollide() throws Exception {
+        persistence.saveBlueprint(new Blueprint("a:b", "c", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("a", "b:c", List.of(new Point(2, 2))));
+
+        assertThat(persistence.getBlueprint("a:b", "c").getPoints()).containsExactly(new Point(1, 1));
+        assertThat(persistence.getBlueprint("a", "b:c").getPoints()).containsExactly(new Point(2, 2));
+    }
+
+    @Test
+    void pagesWalkAllBlueprintsInAuthorNameOrder() throws Exception {
+        persistence.saveBlueprint(new Blueprint("jane", "attic", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("alice", "shed", List.of()));
+
+        List<String> walked = new ArrayList<>();
+        BlueprintCursor after = null;
+        List<Blueprint> page;
+        while (!(page = persistence.getBlueprintsPage(after, 2, true)).isEmpty()) {
+            assertThat(page).hasSizeLessThanOrEqualTo(2);
+            page.forEach(bp -> walked.add(bp.getAuthor() + "/" + bp.getName()));
+            after = BlueprintCursor.after(page.get(page.size() - 1));
+        }
+
+        assertThat(walked).containsExactly("alice/shed", "jane/attic", "jane/garden", "john/garage", "john/house");
+    }
+
+    @Test
+    void pageWithoutPointsKeepsStoredBlueprintsIntact() throws Exception {
+        List<Blueprint> page = persistence.getBlueprintsPage(new BlueprintCursor("jane", "garden"), 10, false);
+
+        assertThat(page).extracting(Blueprint::getName).containsExactly("garage", "house");
+        assertThat(page).allSatisfy(bp -> assertThat(bp.getPoints()).isEmpty());
+        assertThat(persistence.getBlueprint("john", "house").getPoints()).hasSize(4);
+    }
+
+    @Test
+    void batchAppendKeepsOrderAndRequiresExistingBlueprint() throws Exception {
+        persistence.addPoints("jane", "garden", List.of(new Point(8, 8), new Point(9, 9)));
+
+        assertThat(persistence.getBlueprint("jane", "garden").getPoints())
+                .endsWith(new Point(6, 7), new Point(8, 8), new Point(9, 9));
+        assertThrows(BlueprintNotFoundException.class,
+                () -> persistence.addPoints("ghost", "none", List.of(new Point(1, 1))));
+    }
+
+    @Test
+    void concurrentCreatesOfSameBlueprintLetExactlyOneWin() throws Exception {
+        int creators = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(creators);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Blueprint>> creates = new ArrayList<>();
+        try {
+            for (int c = 0; c < creators; c++) {
+                int creator = c;
+                creates.add(pool.submit(() -> {
+                    Blueprint bp = new Blueprint("race", "plan", List.of(new Point(creator, creator)));
+                    start.await();
+                    try {
+                        persistence.saveBlueprint(bp);
+                        return bp;
+                    } catch (BlueprintAlreadyExistsException lost) {
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+            List<Blueprint> winners = new ArrayList<>();
+            for (Future<Blueprint> create : creates) {
+                Blueprint won = create.get(60, TimeUnit.SECONDS);
+                if (won != null) winners.add(won);
+            }
+            assertThat(winners).hasSize(1);
+            assertThat(persistence.getBlueprint("race", "plan")).isSameAs(winners.get(0));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void authorIndexNeverDivergesFromPrimaryMapUnderConcurrentSaves() throws Exception {
+        int writers = 8;
+        int savesPerWriter = 2_000;
+        int authors = 16;
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        try {
+            List<Future<?>> saves = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                saves.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < savesPerWriter; i++) {
+                        // names overlap across writers so duplicate creates race against each other
+                        Blueprint bp = new Blueprint("author-" + (i % authors), "bp-" + i, List.of(new Point(i, i)));
+                        try {
+                            persistence.saveBlueprint(bp);
+                        } catch (BlueprintAlreadyExistsException expected) {
+                            // lost the race for this key
+                        }
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    while (writing.get()) {
+                        for (int a = 0; a < authors; a++) {
+                            Set<Blueprint> indexed;
+                            try {
+                                indexed = persistence.getBlueprintsByAuthor("author-" + a);
+                            } catch (BlueprintNotFoundException notYet) {
+                                continue;
+                            }
+                            for (Blueprint bp : indexed) {
+                                // a listed blueprint must be the very instance a point lookup returns
+                                if (persistence.getBlueprint(bp.getAuthor(), bp.getName()) != bp) {
+                                    violations.add(bp.getAuthor() + "/" + bp.getName());
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> save : saves) save.get(60, TimeUnit.SECONDS);
+            // readers stop once writing is off; get() rethrows a ConcurrentModificationException or lookup failure
+            writing.set(false);
+            for (Future<?> reader : readers) reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            writing.set(false);
+            pool.shutdown();
+            assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(violations).isEmpty();
+        Map<String, Set<Blueprint>> expected = persistence.getAllBlueprints().stream()
+                .collect(Collectors.groupingBy(Blueprint::getAuthor, Collectors.toSet()));
+        for (Map.Entry<String, Set<Blueprint>> e : expected.entrySet()) {
+            Set<Blueprint> indexed = persistence.getBlueprintsByAuthor(e.getKey());
+            assertThat(indexed).hasSameElementsAs(e.getValue());
+            for (Blueprint bp : indexed) {
+                assertThat(bp).isSameAs(persistence.getBlueprint(bp.getAuthor(), bp.getName()));
+            }
+        }
+        assertThat(expected.keySet()).hasSize(authors + 2); // plus sample authors john and jane
+    }
+
+    @Test
+    void concurrentAppendsLoseNoPointsAndReadersSeeStableSnapshots() throws Exception {
+        int writers = 8;
+        int appendsPerWriter = 20_000;
+        persistence.saveBlueprint(new Blueprint("stress", "hot", List.of()));
+        persistence.saveBlueprint(new Blueprint("stress", "cold", List.of()));
+        ExecutorService pool = Executors.newFixedThreadPool(writers + 2);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        try {
+            List<Future<?>> appends = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                appends.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < appendsPerWriter; i++) {
+                        persistence.addPoint("stress", "hot", writer, i);
+                        if (i % 10 == 0) persistence.addPoint("stress", "cold", writer, i);
+                    }
+                    return null;
+                }));
+            }
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(pool.submit(() -> {
+                    start.await();
+                    int lastSize = 0;
+                    while (writing.get()) {
+                        List<Point> snapshot = persistence.getBlueprint("stress", "hot").getPoints();
+                        int size = snapshot.size();
+                        int seen = 0;
+                        for (Point p : snapshot) {
+                            if (p == null) violations.add("null point at " + seen);
+                            seen++;
+                        }
+                        if (seen != size) violations.add("snapshot changed while iterating: " + size + " -> " + seen);
+                        if (size < lastSize) violations.add("snapshot shrank: " + lastSize + " -> " + size);
+                        lastSize = size;
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> append : appends) append.get(60, TimeUnit.SECONDS);
+            // readers stop once writing is off; get() rethrows anything they failed with
+            writing.set(false);
+            for (Future<?> reader : readers) reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            writing.set(false);
+            pool.shutdown();
+            assertThat(pool.awaitTermination(60, TimeUnit.SECONDS)).isTrue();
+        }
+
+        assertThat(violations).isEmpty();
+        List<Point> hot = persistence.getBlueprint("stress", "hot").getPoints();
+        assertThat(hot).hasSize(writers * appendsPerWriter);
+        assertThat(persistence.getBlueprint("stress", "cold").getPoints()).hasSize(writers * appendsPerWriter / 10);
+        // every writer's points are all there, in the order that writer appended them
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            assertThat(hot.stream().filter(p -> p.x() == writer).map(Point::y).toList())
+                    .containsExactlyElementsOf(IntStream.range(0, appendsPerWriter).boxed().toList());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.PackedPoints;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PointCodecTest {
+
+    @Test
+    void roundTripsExtremeCoordinatesAndLargeJumps() {
+        PackedPoints points = PackedPoints.of(List.of(new Point(0, 0), new Point(Integer.MAX_VALUE, Integer.MIN_VALUE),
+                new Point(Integer.MIN_VALUE, Integer.MAX_VALUE), new Point(-1, 1), new Point(-1, 1)));
+
+        byte[] data = PointCodec.encode(points);
+
+        assertThat(new PackedPoints(PointCodec.decode(data, points.size(), 0), points.size())).isEqualTo(points);
+    }
+
+    @Test
+    void smallStepsTakeTwoBytesPerPoint() {
+        List<Point> stroke = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(7);
+        int x = 500, y = -500;
+        for (int i = 0; i < 10_000; i++) {
+            x += random.nextInt(-3, 4);
+            y += random.nextInt(-3, 4);
+            stroke.add(new Point(x, y));
+        }
+
+        byte[] data = PointCodec.encode(PackedPoints.of(stroke));
+
+        assertThat(data.length).isLessThan(2 * stroke.size() + 8);
+        assertThat(new PackedPoints(PointCodec.decode(data, stroke.size(), 0), stroke.size())).isEqualTo(stroke);
+    }
+
+    @Test
+    void appendContinuesFromTheLastEncodedPoint() {
+        List<Point> head = List.of(new Point(10, 10), new Point(12, 9));
+        List<Point> tail = List.of(new Point(13, 9), new Point(-40, 70));
+
+        byte[] appended = PointCodec.append(PointCodec.encode(PackedPoints.of(head)), head.size(), PackedPoints.of(tail));
+
+        List<Point> all = new ArrayList<>(head);
+        all.addAll(tail);
+        assertThat(appended).isEqualTo(PointCodec.encode(PackedPoints.of(all)));
+    }
+
+    @Test
+    void decodeLeavesRoomForMorePoints() {
+        long[] coords = PointCodec.decode(PointCodec.encode(PackedPoints.of(List.of(new Point(1, 2)))), 1, 16);
+
+        assertThat(coords).hasSize(16);
+        assertThat(coords[0]).isEqualTo(PackedPoints.pack(1, 2));
+    }
+
+    @Test
+    void rejectsDataWithAnotherNumberOfPoints() {
+        byte[] data = PointCodec.encode(PackedPoints.of(List.of(new Point(1, 2), new Point(3, 4))));
+
+        assertThrows(IllegalArgumentException.class, () -> PointCodec.decode(data, 1, 0));
+        assertThrows(ArrayIndexOutOfBoundsException.class, () -> PointCodec.decode(data, 3, 0));
+    }
+}
@@ -0,0 +1,161 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Carga 10M puntos (10.000 blueprints de 1.000) y verifica con EXPLAIN que los accesos a points usan
+ * points_blueprint_order_idx, sin Seq Scan sobre points. Las lecturas sobre points solo tampoco ordenan: el índice
+ * ya entrega los puntos en point_order.
+ */
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Testcontainers
+class PointsIndexIT {
+
+    private static final int BLUEPRINTS = 10_000;
+    private static final int POINTS_EACH = 1_000;
+    private static final String INDEX = "points_blueprint_order_idx";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("blueprintsdb")
+            .withUsername("blueprintuser")
+            .withPassword("blueprintpass");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void loadTenMillionPoints() {
+        if (jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM blueprints WHERE author LIKE 'index-%')", Boolean.class)) {
+            return;
+        }
+        jdbcTemplate.update("INSERT INTO blueprints (author, name, point_count) "
+                + "SELECT 'index-' || (i % 100), 'bp-' || i, ? FROM generate_series(0, ? - 1) i", POINTS_EACH, BLUEPRINTS);
+        jdbcTemplate.update("INSERT INTO points (blueprint_id, x, y, point_order) "
+                + "SELECT b.id, o, o % 97, o FROM blueprints b CROSS JOIN generate_series(0, ? - 1) o "
+                + "WHERE b.author LIKE 'index-%' ORDER BY b.id, o", POINTS_EACH);
+        // index-only scans need an up-to-date visibility map
+        jdbcTemplate.execute("VACUUM ANALYZE points");
+        jdbcTemplate.execute("ANALYZE blueprints");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points", Long.class))
+                .isGreaterThanOrEqualTo((long) BLUEPRINTS * POINTS_EACH);
+    }
+
+    @Test
+    void compactorTailReadIsAnIndexOnlyScanInPointOrder() throws Exception {
+        List<Scan> scans = plan(PostgresPointCompactor.TAIL, someBlueprintId());
+
+        assertThat(scans).extracting(Scan::type).containsExactly("Index Only Scan");
+        assertThat(scans).extracting(Scan::index).containsExactly(INDEX);
+    }
+
+    @Test
+    void deltaReadScansOnlyTheRequestedTailOfTheIndex() throws Exception {
+        List<Scan> scans = plan(PostgresBlueprintPersistence.SELECT_POINTS_FROM, someBlueprintId(), POINTS_EACH - 10);
+
+        assertThat(scans).extracting(Scan::type).containsExactly("Index Only Scan");
+        assertThat(scans).extracting(Scan::index).containsExactly(INDEX);
+    }
+
+    @Test
+    void singleBlueprintReadWithItsPointsUsesTheIndex() throws Exception {
+        // the shape of the entity-graph query behind getBlueprint; the planner still sorts the one blueprint's rows
+        // after the join, since it does not carry the inner index order through the nested loop
+        List<Scan> scans = plan("SELECT b.id, b.author, b.name, p.x, p.y, p.point_order FROM blueprints b "
+                + "LEFT JOIN points p ON p.blueprint_id = b.id WHERE b.author = ? AND b.name = ? ORDER BY p.point_order",
+                "index-7", "bp-507");
+
+        assertPointsReachedOnlyThroughIndex(scans);
+    }
+
+    @Test
+    void batchedPointLoadingUsesTheIndex() throws Exception {
+        // @BatchSize initializes the points of up to BATCH_SIZE blueprints at once
+        long first = someBlueprintId();
+        String ids = LongStream.range(first, first + 128).mapToObj(Long::toString).collect(Collectors.joining(","));
+        List<Scan> scans = plan("SELECT p.blueprint_id, p.x, p.y, p.point_order FROM points p "
+                + "WHERE p.blueprint_id = ANY ('{" + ids + "}'::bigint[]) ORDER BY p.blueprint_id, p.point_order");
+
+        assertPointsReachedOnlyThroughIndex(scans);
+        assertThat(scans).extracting(Scan::type).doesNotContain("Sort");
+    }
+
+    @Test
+    void deletingABlueprintsPointsUsesTheIndex() throws Exception {
+        // same lookup as the ON DELETE CASCADE of blueprints
+        List<Scan> scans = plan(PostgresPointCompactor.DROP_TAIL, someBlueprintId());
+
+        assertPointsReachedOnlyThroughIndex(scans);
+    }
+
+    @Test
+    void pointOrderIsUniquePerBlueprint() {
+        long id = someBlueprintId();
+
+        assertThrows(DuplicateKeyException.class, () -> jdbcTemplate.update(
+                "INSERT INTO points (blueprint_id, x, y, point_order) VALUES (?, 0, 0, 0)", id));
+    }
+
+    private long someBlueprintId() {
+        return jdbcTemplate.queryForObject("SELECT id FROM blueprints WHERE author = 'index-3' AND name = 'bp-2003'", Long.class);
+    }
+
+    private void assertPointsReachedOnlyThroughIndex(List<Scan> scans) {
+        List<Scan> onPoints = scans.stream()
+                .filter(s -> "points".equals(s.relation()) && s.type().endsWith("Scan")).toList();
+        assertThat(onPoints).isNotEmpty().allSatisfy(s -> {
+            assertThat(s.type()).isIn("Index Scan", "Index Only Scan", "Bitmap Heap Scan");
+        });
+        assertThat(scans).extracting(Scan::index).contains(INDEX);
+        assertThat(scans).extracting(Scan::type).doesNotContain("Seq Scan");
+    }
+
+    private record Scan(String type, String relation, String index) { }
+
+    private List<Scan> plan(String sql, Object... args) throws Exception {
+        String json = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        List<Scan> nodes = new ArrayList<>();
+        collect(objectMapper.readTree(json).get(0).get("Plan"), nodes);
+        return nodes;
+    }
+
+    private static void collect(JsonNode node, List<Scan> nodes) {
+        // Bitmap Index Scans name the index but not the table; their Bitmap Heap Scan parent names the table
+        nodes.add(new Scan(node.path("Node Type").asText(), node.path("Relation Name").asText(null),
+                node.path("Index Name").asText(null)));
+        for (JsonNode child : node.path("Plans")) collect(child, nodes);
+    }
+}
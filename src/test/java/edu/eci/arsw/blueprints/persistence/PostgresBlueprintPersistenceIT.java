@@ -1,6 +1,8 @@
 package edu.eci.arsw.blueprints.persistence;
 
 import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
 import edu.eci.arsw.blueprints.model.Point;
 import edu.eci.arsw.blueprints.persistence.repository.BlueprintRepository;
 import org.junit.jupiter.api.Test;
@@ -14,7 +16,14 @@ import org.testcontainers.containers.PostgreSQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,7 +44,7 @@ class PostgresBlueprintPersistenceIT {
         registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
         registry.add("spring.datasource.username", POSTGRES::getUsername);
         registry.add("spring.datasource.password", POSTGRES::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "update");
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration"); // schema only, no sample data
     }
 
     @Autowired
@@ -85,4 +94,140 @@ class PostgresBlueprintPersistenceIT {
         assertThat(entity.getPoints()).extracting("pointOrder")
                 .containsExactly(0, 1, 2);
     }
+
+    @Test
+    void pagesByKeysetWithAndWithoutPoints() throws Exception {
+        persistence.saveBlueprint(new Blueprint("page", "a", List.of(new Point(1, 1))));
+        persistence.saveBlueprint(new Blueprint("page", "b", List.of(new Point(2, 2))));
+        persistence.saveBlueprint(new Blueprint("page", "c", List.of(new Point(3, 3))));
+
+        List<Blueprint> first = persistence.getBlueprintsPage(new BlueprintCursor("page", ""), 2, true);
+        assertThat(first).extracting(Blueprint::getName).containsExactly("a", "b");
+        assertThat(first.get(1).getPoints()).containsExactly(new Point(2, 2));
+
+        List<Blueprint> rest = persistence.getBlueprintsPage(BlueprintCursor.after(first.get(1)), 2, false);
+        assertThat(rest).extracting(Blueprint::getName).startsWith("c");
+        assertThat(rest.get(0).getPoints()).isEmpty();
+    }
+
+    @Test
+    void exportGroupsStreamedRowsIntoBlueprints() throws Exception {
+        persistence.saveBlueprint(new Blueprint("export", "empty", List.of()));
+        persistence.saveBlueprint(new Blueprint("export", "line", List.of(new Point(1, 2), new Point(3, 4))));
+
+        List<Blueprint> exported = new ArrayList<>();
+        persistence.forEachBlueprint(exported::add);
+
+        assertThat(exported).doesNotHaveDuplicates();
+        assertThat(exported).filteredOn(bp -> bp.getAuthor().equals("export"))
+                .extracting(bp -> bp.getName() + "=" + bp.getPoints())
+                .containsExactlyInAnyOrder("empty=[]", "line=[Point[x=1, y=2], Point[x=3, y=4]]");
+    }
+
+    @Test
+    void concurrentAppendsGetDistinctConsecutiveOrders() throws Exception {
+        persistence.saveBlueprint(new Blueprint("race", "line", List.of(new Point(0, 0))));
+        int writers = 8;
+        int appendsPerWriter = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> appends = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                appends.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < appendsPerWriter; i++) persistence.addPoint("race", "line", writer, i);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> append : appends) append.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdown();
+        }
+
+        var entity = repository.findByAuthorAndName("race", "line").orElseThrow();
+        int expected = 1 + writers * appendsPerWriter;
+        assertThat(entity.getPointCount()).isEqualTo(expected);
+        assertThat(entity.getVersion()).isEqualTo(writers * appendsPerWriter);
+        assertThat(entity.getPoints()).extracting("pointOrder")
+                .containsExactlyElementsOf(IntStream.range(0, expected).boxed().toList());
+    }
+
+    @Test
+    void batchAppendContinuesPointOrder() throws Exception {
+        persistence.saveBlueprint(new Blueprint("batch", "line", List.of(new Point(0, 0))));
+        persistence.addPoint("batch", "line", 1, 1);
+
+        persistence.addPoints("batch", "line", List.of(new Point(2, 2), new Point(3, 3), new Point(4, 4)));
+
+        var entity = repository.findByAuthorAndName("batch", "line").orElseThrow();
+        assertThat(entity.getPointCount()).isEqualTo(5);
+        assertThat(entity.getPoints()).extracting("pointOrder").containsExactly(0, 1, 2, 3, 4);
+        assertThat(persistence.getBlueprint("batch", "line").getPoints())
+                .containsExactly(new Point(0, 0), new Point(1, 1), new Point(2, 2), new Point(3, 3), new Point(4, 4));
+        assertThrows(BlueprintNotFoundException.class,
+                () -> persistence.addPoints("ghost", "none", List.of(new Point(1, 1))));
+    }
+
+    @Test
+    void windowQueriesFollowCreatesAndAppends() throws Exception {
+        // far from the other tests' points, which share this database
+        persistence.saveBlueprint(new Blueprint("window", "a", List.of(new Point(5_000_000, 5_000_000))));
+        persistence.saveBlueprint(new Blueprint("window", "b", List.of(new Point(5_000_100, 5_000_100))));
+        persistence.saveBlueprint(new Blueprint("window", "empty", List.of()));
+        BoundingBox window = new BoundingBox(5_000_050, 5_000_050, 5_000_200, 5_000_200);
+
+        assertThat(persistence.getBlueprintsIntersecting(window, false))
+                .extracting(Blueprint::getName).containsExactly("b");
+
+        persistence.addPoint("window", "a", 5_000_060, 5_000_000);
+        assertThat(persistence.getBlueprintsIntersecting(window, false)).extracting(Blueprint::getName)
+                .containsExactly("a", "b");
+
+        persistence.addPoints("window", "empty", List.of(new Point(5_000_200, 5_000_200), new Point(0, 0)));
+        List<Blueprint> found = persistence.getBlueprintsIntersecting(window, true);
+        assertThat(found).extracting(Blueprint::getName).containsExactly("a", "b", "empty");
+        assertThat(found.get(2).getPoints()).containsExactly(new Point(5_000_200, 5_000_200), new Point(0, 0));
+    }
+
+    @Test
+    void appendToMissingBlueprintIsNotFound() {
+        assertThrows(BlueprintNotFoundException.class, () -> persistence.addPoint("ghost", "none", 1, 1));
+    }
+
+    @Test
+    void concurrentCreatesOfSameBlueprintLetExactlyOneWin() throws Exception {
+        int creators = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(creators);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> creates = new ArrayList<>();
+        try {
+            for (int c = 0; c < creators; c++) {
+                int creator = c;
+                creates.add(pool.submit(() -> {
+                    start.await();
+                    try {
+                        persistence.saveBlueprint(new Blueprint("race", "plan", List.of(new Point(creator, creator))));
+                        return true;
+                    } catch (BlueprintAlreadyExistsException lost) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> create : creates) {
+                if (create.get(60, TimeUnit.SECONDS)) winners++;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            pool.shutdown();
+        }
+
+        // only the winner's points were written
+        assertThat(persistence.getBlueprint("race", "plan").getPoints()).hasSize(1);
+        assertThat(repository.findByAuthorAndName("race", "plan").orElseThrow().getPointCount()).isEqualTo(1);
+    }
 }
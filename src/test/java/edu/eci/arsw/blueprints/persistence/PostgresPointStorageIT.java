@@ -0,0 +1,145 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Testcontainers
+class PostgresPointStorageIT {
+
+    private static final int PACKED_MIN_POINTS = 100;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("blueprintsdb")
+            .withUsername("blueprintuser")
+            .withPassword("blueprintpass");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+        registry.add("blueprints.point-storage.packed-min-points", () -> PACKED_MIN_POINTS);
+        registry.add("blueprints.point-storage.compact-min-tail", () -> 10);
+        registry.add("blueprints.point-storage.compact-interval", () -> "PT1H"); // compaction only when a test asks
+    }
+
+    @Autowired
+    private PostgresBlueprintPersistence persistence;
+
+    @Autowired
+    private PostgresPointCompactor compactor;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void largeBlueprintIsStoredEncodedAndReadsBackWithItsTail() throws Exception {
+        List<Point> points = walk(PACKED_MIN_POINTS * 5, 1);
+        persistence.saveBlueprint(new Blueprint("packed", "large", points));
+        assertThat(pointRows("packed", "large")).isZero();
+
+        persistence.addPoint("packed", "large", 7, 7);
+        persistence.addPoints("packed", "large", List.of(new Point(8, 8), new Point(9, 9)));
+
+        List<Point> expected = new ArrayList<>(points);
+        expected.addAll(List.of(new Point(7, 7), new Point(8, 8), new Point(9, 9)));
+        assertThat(persistence.getBlueprint("packed", "large").getPoints()).containsExactlyElementsOf(expected);
+        assertThat(pointRows("packed", "large")).isEqualTo(3);
+        assertReadPathsAgree("packed", "large", expected);
+    }
+
+    @Test
+    void compactionMovesTheTailIntoPointDataWithoutChangingReads() throws Exception {
+        List<Point> points = walk(PACKED_MIN_POINTS * 2, 2);
+        // small blueprints start as rows and only get compacted once they are large enough
+        persistence.saveBlueprint(new Blueprint("compact", "grown", points.subList(0, 5)));
+        persistence.addPoints("compact", "grown", points.subList(5, points.size()));
+        persistence.saveBlueprint(new Blueprint("compact", "small", points.subList(0, 5)));
+        long version = persistence.getBlueprint("compact", "grown").getVersion();
+
+        assertThat(compactor.compactPending()).isGreaterThanOrEqualTo(1);
+
+        assertThat(pointRows("compact", "grown")).isZero();
+        assertThat(pointRows("compact", "small")).isEqualTo(5);
+        Blueprint grown = persistence.getBlueprint("compact", "grown");
+        assertThat(grown.getPoints()).containsExactlyElementsOf(points);
+        assertThat(grown.getVersion()).isEqualTo(version);
+
+        // later appends form a new tail that a second compaction appends to the encoded points
+        persistence.addPoint("compact", "grown", -1, -1);
+        long id = jdbcTemplate.queryForObject("SELECT id FROM blueprints WHERE author = 'compact' AND name = 'grown'", Long.class);
+        assertThat(compactor.compact(id)).isEqualTo(1);
+        List<Point> expected = new ArrayList<>(points);
+        expected.add(new Point(-1, -1));
+        assertThat(pointRows("compact", "grown")).isZero();
+        assertReadPathsAgree("compact", "grown", expected);
+    }
+
+    @Test
+    void deltaReadsSpanEncodedPointsAndTheirTail() throws Exception {
+        List<Point> points = walk(PACKED_MIN_POINTS * 3, 3);
+        persistence.saveBlueprint(new Blueprint("delta", "packed", points));
+        persistence.addPoints("delta", "packed", List.of(new Point(1, 1), new Point(2, 2)));
+        int count = points.size() + 2;
+
+        BlueprintDelta tail = persistence.getPointsSince("delta", "packed", points.size());
+        assertThat(tail.points()).containsExactly(new Point(1, 1), new Point(2, 2));
+        assertThat(tail.pointCount()).isEqualTo(count);
+        assertThat(tail.version()).isEqualTo(1);
+
+        // starting inside point_data: the encoded suffix followed by the rows
+        BlueprintDelta spanning = persistence.getPointsSince("delta", "packed", points.size() - 3);
+        List<Point> expected = new ArrayList<>(points.subList(points.size() - 3, points.size()));
+        expected.addAll(List.of(new Point(1, 1), new Point(2, 2)));
+        assertThat(spanning.points()).containsExactlyElementsOf(expected);
+
+        assertThat(persistence.getPointsSince("delta", "packed", count).points()).isEmpty();
+        assertThat(persistence.getPointsSince("delta", "packed", count + 5).pointCount()).isEqualTo(count);
+    }
+
+    private void assertReadPathsAgree(String author, String name, List<Point> expected) throws Exception {
+        assertThat(persistence.getBlueprint(author, name).getPoints()).containsExactlyElementsOf(expected);
+        assertThat(persistence.getBlueprintsByAuthor(author))
+                .filteredOn(bp -> bp.getName().equals(name)).singleElement()
+                .satisfies(bp -> assertThat(bp.getPoints()).containsExactlyElementsOf(expected));
+        assertThat(persistence.getBlueprintsPage(new BlueprintCursor(author, name.substring(0, name.length() - 1)), 1, true))
+                .singleElement().satisfies(bp -> assertThat(bp.getPoints()).containsExactlyElementsOf(expected));
+        List<Blueprint> exported = new ArrayList<>();
+        persistence.forEachBlueprint(bp -> {
+            if (bp.getAuthor().equals(author) && bp.getName().equals(name)) exported.add(bp);
+        });
+        assertThat(exported).singleElement().satisfies(bp -> assertThat(bp.getPoints()).containsExactlyElementsOf(expected));
+    }
+
+    private int pointRows(String author, String name) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM points p JOIN blueprints b ON b.id = p.blueprint_id "
+                + "WHERE b.author = ? AND b.name = ?", Integer.class, author, name);
+    }
+
+    private static List<Point> walk(int size, int seed) {
+        return IntStream.range(0, size).mapToObj(i -> new Point(i * seed - 50, (i % 7) * -seed)).toList();
+    }
+}
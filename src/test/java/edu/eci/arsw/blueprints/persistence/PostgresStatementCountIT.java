@@ -0,0 +1,127 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.entities.BlueprintEntity;
+import edu.eci.arsw.blueprints.persistence.repository.BlueprintRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Cota de sentencias SQL por operación de lectura: el número de consultas no debe crecer con el número de
+ * blueprints (N+1) más allá de una consulta de puntos por lote de {@link BlueprintEntity#BATCH_SIZE}.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Testcontainers
+class PostgresStatementCountIT {
+
+    private static final int BLUEPRINTS = 300;
+    private static final String AUTHOR = "counted";
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("blueprintsdb")
+            .withUsername("blueprintuser")
+            .withPassword("blueprintpass");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private PostgresBlueprintPersistence persistence;
+
+    @Autowired
+    private BlueprintRepository repository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() throws Exception {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (repository.existsByAuthorAndName(AUTHOR, "bp-000")) return;
+        for (int i = 0; i < BLUEPRINTS; i++) {
+            persistence.saveBlueprint(new Blueprint(AUTHOR, "bp-%03d".formatted(i),
+                    List.of(new Point(i, 0), new Point(i, 1), new Point(i, 2))));
+        }
+    }
+
+    @Test
+    void singleBlueprintIsOneStatement() throws Exception {
+        statistics.clear();
+
+        Blueprint bp = persistence.getBlueprint(AUTHOR, "bp-007");
+
+        assertThat(bp.getPoints()).containsExactly(new Point(7, 0), new Point(7, 1), new Point(7, 2));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void appendIsOneStatementWhateverTheBlueprintSize() throws Exception {
+        if (!repository.existsByAuthorAndName("appender", "long")) {
+            persistence.saveBlueprint(new Blueprint("appender", "long",
+                    IntStream.range(0, 5_000).mapToObj(i -> new Point(i, i)).toList()));
+        }
+        statistics.clear();
+
+        persistence.addPoint("appender", "long", -1, -1);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(persistence.getBlueprint("appender", "long").getPoints()).endsWith(new Point(-1, -1));
+    }
+
+    @Test
+    void authorListingLoadsPointsInBatches() throws Exception {
+        statistics.clear();
+
+        Set<Blueprint> all = persistence.getBlueprintsByAuthor(AUTHOR);
+
+        assertThat(all).hasSize(BLUEPRINTS).allSatisfy(bp -> assertThat(bp.getPoints()).hasSize(3));
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + batches(BLUEPRINTS));
+    }
+
+    @Test
+    void pagesCostOneStatementPlusPointBatches() {
+        BlueprintCursor start = new BlueprintCursor(AUTHOR, "");
+
+        statistics.clear();
+        List<Blueprint> withPoints = persistence.getBlueprintsPage(start, 200, true);
+        assertThat(withPoints).hasSize(200).allSatisfy(bp -> assertThat(bp.getPoints()).hasSize(3));
+        assertThat(withPoints).extracting(Blueprint::getName)
+                .containsExactlyElementsOf(IntStream.range(0, 200).mapToObj("bp-%03d"::formatted).toList());
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(1 + batches(200));
+
+        statistics.clear();
+        List<Blueprint> withoutPoints = persistence.getBlueprintsPage(start, 200, false);
+        assertThat(withoutPoints).hasSize(200);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private static long batches(int blueprints) {
+        return (blueprints + BlueprintEntity.BATCH_SIZE - 1) / BlueprintEntity.BATCH_SIZE;
+    }
+}
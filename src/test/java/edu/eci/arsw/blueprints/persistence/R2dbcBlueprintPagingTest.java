@@ -0,0 +1,100 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import static edu.eci.arsw.blueprints.persistence.R2dbcBlueprintPersistence.PAGE_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class R2dbcBlueprintPagingTest {
+
+    private static final int TOTAL = PAGE_SIZE * 2 + 37;
+
+    // Serves sorted blueprints "bp-00000".. in keyset pages, recording every page subscribed to: for the real
+    // repository that is when a connection is taken, even before the page is requested
+    private final List<BlueprintCursor> fetched = Collections.synchronizedList(new ArrayList<>());
+    private final Function<BlueprintCursor, Mono<List<Blueprint>>> pages = after -> Mono.fromSupplier(() -> IntStream.range(0, TOTAL)
+                    .mapToObj(i -> new Blueprint("paged", "bp-%05d".formatted(i), List.of(new Point(i, i))))
+                    .filter(bp -> BlueprintCursor.after(bp).compareTo(after) > 0)
+                    .limit(PAGE_SIZE)
+                    .toList())
+            .doOnSubscribe(s -> fetched.add(after));
+
+    @Test
+    void walksEveryPageInOrder() {
+        StepVerifier.create(R2dbcBlueprintPersistence.paged(pages).map(Blueprint::getName))
+                .expectNextSequence(IntStream.range(0, TOTAL).mapToObj("bp-%05d"::formatted).toList())
+                .verifyComplete();
+
+        assertThat(fetched).hasSize(3);
+    }
+
+    @Test
+    void nextPageIsFetchedOnlyOnceTheCurrentOneIsConsumed() {
+        StepVerifier.create(R2dbcBlueprintPersistence.paged(pages), 0)
+                .then(() -> assertThat(fetched).isEmpty())
+                .thenRequest(1)
+                .expectNextCount(1)
+                .thenRequest(PAGE_SIZE - 2)
+                .expectNextCount(PAGE_SIZE - 2)
+                .then(() -> assertThat(fetched).hasSize(1))
+                // handing out the page's last blueprint is what triggers the next query
+                .thenRequest(1)
+                .expectNextCount(1)
+                .then(() -> assertThat(fetched).hasSize(2))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void slowSubscriberNeverHasMoreThanOnePageAheadOfIt() throws Exception {
+        List<String> violations = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(1);
+        R2dbcBlueprintPersistence.paged(pages).subscribe(new BaseSubscriber<>() {
+            int received;
+
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                request(1);
+            }
+
+            @Override
+            protected void hookOnNext(Blueprint bp) {
+                received++;
+                int allowed = received / PAGE_SIZE + 1;
+                if (fetched.size() > allowed) violations.add(received + " received, " + fetched.size() + " pages fetched");
+                try {
+                    Thread.sleep(Duration.ofNanos(200_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                request(1);
+            }
+
+            @Override
+            protected void hookFinally(SignalType type) {
+                done.countDown();
+            }
+        });
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(violations).isEmpty();
+        assertThat(fetched).hasSize(3);
+    }
+}
@@ -0,0 +1,110 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static edu.eci.arsw.blueprints.persistence.R2dbcBlueprintPersistence.PAGE_SIZE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@SpringBootTest
+@Testcontainers
+class R2dbcBlueprintPersistenceIT {
+
+    private static final int PACKED_MIN_POINTS = 20;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("blueprintsdb")
+            .withUsername("blueprintuser")
+            .withPassword("blueprintpass");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+        registry.add("blueprints.point-storage.packed-min-points", () -> PACKED_MIN_POINTS);
+        registry.add("blueprints.point-storage.compact-interval", () -> "PT1H");
+    }
+
+    @Autowired
+    private PostgresBlueprintPersistence persistence;
+
+    @Autowired
+    private R2dbcBlueprintPersistence reactive;
+
+    @Test
+    void readsTheSamePointsAsTheJdbcSide() throws Exception {
+        List<Point> points = IntStream.range(0, PACKED_MIN_POINTS * 3).mapToObj(i -> new Point(i, -i)).toList();
+        persistence.saveBlueprint(new Blueprint("r2dbc", "packed", points));
+        persistence.addPoints("r2dbc", "packed", List.of(new Point(7, 7), new Point(8, 8)));
+        persistence.saveBlueprint(new Blueprint("r2dbc", "rows", List.of(new Point(1, 1), new Point(2, 2))));
+        persistence.saveBlueprint(new Blueprint("r2dbc", "empty", List.of()));
+
+        for (String name : List.of("packed", "rows", "empty")) {
+            Blueprint jdbc = persistence.getBlueprint("r2dbc", name);
+            StepVerifier.create(reactive.getBlueprint("r2dbc", name))
+                    .assertNext(bp -> {
+                        assertThat(bp.getPoints()).containsExactlyElementsOf(jdbc.getPoints());
+                        assertThat(bp.getVersion()).isEqualTo(jdbc.getVersion());
+                    })
+                    .verifyComplete();
+        }
+
+        StepVerifier.create(reactive.getBlueprintsByAuthor("r2dbc").map(Blueprint::getName))
+                .expectNext("empty", "packed", "rows")
+                .verifyComplete();
+    }
+
+    @Test
+    void missingBlueprintsAndAuthorsAreNotFound() {
+        StepVerifier.create(reactive.getBlueprint("nobody", "nothing"))
+                .expectError(BlueprintNotFoundException.class)
+                .verify();
+        StepVerifier.create(reactive.getBlueprintsByAuthor("nobody"))
+                .expectError(BlueprintNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void slowSubscriberHoldsNoConnectionBetweenPages() throws Exception {
+        int total = PAGE_SIZE * 2 + 50;
+        for (int i = 0; i < total; i++) {
+            persistence.saveBlueprint(new Blueprint("slow", "bp-%04d".formatted(i), List.of(new Point(i, i))));
+        }
+
+        List<String> names = new ArrayList<>();
+        StepVerifier.create(reactive.getBlueprintsByAuthor("slow").map(Blueprint::getName).doOnNext(names::add), 0)
+                .thenRequest(PAGE_SIZE)
+                .expectNextCount(PAGE_SIZE)
+                // a client stalled right as the next page was queried: the page waits in memory, not in the pool
+                .thenAwait(Duration.ofMillis(200))
+                .then(() -> assertThat(reactive.acquiredConnections()).isZero())
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(total - PAGE_SIZE)
+                .verifyComplete();
+
+        assertThat(reactive.acquiredConnections()).isZero();
+        assertThat(names).hasSize(total).isSorted()
+                .startsWith("bp-0000")
+                .endsWith("bp-%04d".formatted(total - 1));
+    }
+}
@@ -0,0 +1,117 @@
+package edu.eci.arsw.blueprints.persistence;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintCursor;
+import edu.eci.arsw.blueprints.model.ImportRecord;
+import edu.eci.arsw.blueprints.model.Point;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ejecuta todas las operaciones de PostgresBlueprintPersistence desde hilos virtuales, con un pool de 2 conexiones
+ * para que esperen dentro de Hikari, y verifica con JFR ({@code jdk.VirtualThreadPinned}) que ninguna espera
+ * (pool, socket de pgjdbc, transacción) bloquea el hilo portador.
+ */
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "spring.datasource.hikari.maximum-pool-size=2",
+        "blueprints.point-storage.packed-min-points=100",
+        "blueprints.point-storage.compact-min-tail=10",
+        "blueprints.point-storage.compact-interval=PT1H"
+})
+@Testcontainers
+class VirtualThreadPinningIT {
+
+    private static final int TASKS = 32;
+
+    @Container
+    static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine")
+            .withDatabaseName("blueprintsdb")
+            .withUsername("blueprintuser")
+            .withPassword("blueprintpass");
+
+    @DynamicPropertySource
+    static void registerProps(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.flyway.locations", () -> "classpath:db/migration");
+    }
+
+    @Autowired
+    private PostgresBlueprintPersistence persistence;
+
+    @Autowired
+    private PostgresPointCompactor compactor;
+
+    @Test
+    void persistenceAndPoolNeverPinTheCarrierThread() throws Exception {
+        ConcurrentLinkedQueue<String> pinned = new ConcurrentLinkedQueue<>();
+        try (RecordingStream jfr = new RecordingStream()) {
+            jfr.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+            jfr.onEvent("jdk.VirtualThreadPinned", e -> pinned.add(describe(e)));
+            jfr.startAsync();
+
+            try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<?>> tasks = new ArrayList<>();
+                for (int t = 0; t < TASKS; t++) {
+                    int task = t;
+                    tasks.add(pool.submit(() -> {
+                        exerciseEveryPath(task);
+                        return null;
+                    }));
+                }
+                for (Future<?> task : tasks) task.get(120, TimeUnit.SECONDS);
+            }
+            jfr.stop(); // flushes the events recorded so far
+        }
+
+        assertThat(pinned).isEmpty();
+        assertThat(persistence.getBlueprintsByAuthor("pinning")).hasSize(TASKS * 2);
+    }
+
+    private void exerciseEveryPath(int task) throws Exception {
+        String name = "bp-" + task;
+        // every other blueprint is large enough to be stored packed
+        int size = task % 2 == 0 ? 150 : 5;
+        persistence.saveBlueprint(new Blueprint("pinning", name,
+                IntStream.range(0, size).mapToObj(i -> new Point(i, task)).toList()));
+        for (int i = 0; i < 3; i++) persistence.addPoint("pinning", name, i, -i);
+        persistence.addPoints("pinning", name, IntStream.range(0, 20).mapToObj(i -> new Point(i, i)).toList());
+        compactor.compactPending();
+        assertThat(persistence.getBlueprint("pinning", name).getPoints()).hasSize(size + 23);
+        persistence.getBlueprintsPage(new BlueprintCursor("pinning", ""), 10, true);
+        persistence.importBlueprints(List.of(new ImportRecord(1,
+                new Blueprint("pinning", "imported-" + task, List.of(new Point(1, 1))))).iterator());
+        persistence.forEachBlueprint(bp -> { });
+    }
+
+    private static String describe(RecordedEvent e) {
+        if (e.getStackTrace() == null) return e.getEventType().getName();
+        return e.getStackTrace().getFrames().stream().limit(12)
+                .map(RecordedFrame::getMethod).map(m -> m.getType().getName() + "." + m.getName())
+                .collect(Collectors.joining("\n  at ", "pinned:\n  at ", ""));
+    }
+}
@@ -0,0 +1,77 @@
+package edu.eci.arsw.blueprints.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.eci.arsw.blueprints.model.ImportRejection;
+import edu.eci.arsw.blueprints.model.ImportReport;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class BlueprintImportServiceTest {
+
+    private final InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+    private final BlueprintImportService importService = new BlueprintImportService(persistence, new ObjectMapper());
+
+    @Test
+    void ndjsonImportsNewBlueprintsAndReportsEachRejectedLine() throws Exception {
+        String ndjson = """
+                {"author":"ann","name":"tower","points":[{"x":1,"y":2},{"x":3,"y":4}]}
+                {"author":"john","name":"house","points":[]}
+
+                not json
+                {"author":"ann","name":"tower","points":[{"x":9,"y":9}]}
+                {"author":" ","name":"blank","points":[]}
+                {"author":"ann","name":"shed"}
+                """;
+
+        ImportReport report = importService.importNdjson(stream(ndjson));
+
+        assertThat(report.imported()).isEqualTo(2);
+        assertThat(report.points()).isEqualTo(2);
+        assertThat(report.rejected()).isEqualTo(4);
+        assertThat(report.rejections()).extracting(ImportRejection::line, ImportRejection::reason).containsExactly(
+                tuple(2L, "already exists"),
+                tuple(4L, BlueprintImportService.INVALID),
+                tuple(5L, "already exists"),
+                tuple(6L, BlueprintImportService.INVALID));
+        assertThat(persistence.getBlueprint("ann", "tower").getPoints()).containsExactly(new Point(1, 2), new Point(3, 4));
+        assertThat(persistence.getBlueprint("ann", "shed").getPoints()).isEmpty();
+    }
+
+    @Test
+    void csvGroupsConsecutiveRowsIntoOneBlueprint() throws Exception {
+        String csv = """
+                author,name,x,y
+                ann,tower,1,2
+                ann,tower,3,4
+                "smith, jr",empty
+                bob,"a ""quoted"" name",5,6
+                bob,broken,1,x
+                bob,broken,2,2
+                john,house,0,0
+                """;
+
+        ImportReport report = importService.importCsv(stream(csv));
+
+        assertThat(report.imported()).isEqualTo(3);
+        assertThat(report.points()).isEqualTo(3);
+        assertThat(report.rejections()).extracting(ImportRejection::line, ImportRejection::name, ImportRejection::reason)
+                .containsExactly(
+                        tuple(6L, "broken", BlueprintImportService.INVALID),
+                        tuple(8L, "house", "already exists"));
+        assertThat(persistence.getBlueprint("ann", "tower").getPoints()).containsExactly(new Point(1, 2), new Point(3, 4));
+        assertThat(persistence.getBlueprint("smith, jr", "empty").getPoints()).isEmpty();
+        assertThat(persistence.getBlueprint("bob", "a \"quoted\" name").getPoints()).containsExactly(new Point(5, 6));
+    }
+
+    private static InputStream stream(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,51 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.BlueprintDelta;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.BlueprintNotFoundException;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlueprintsServicesDeltaTest {
+
+    private final BlueprintsServices services =
+            new BlueprintsServices(new InMemoryBlueprintPersistence(), new IdentityFilter());
+
+    @Test
+    void pollingWithTheReturnedCountSeesEveryAppendOnce() throws Exception {
+        // sample john/house has 4 points
+        BlueprintDelta first = services.getPointsSince("john", "house", 0);
+        assertThat(first.points()).hasSize(4);
+        assertThat(first.pointCount()).isEqualTo(4);
+
+        List<Point> seen = new ArrayList<>(first.points());
+        int since = first.pointCount();
+        for (int i = 0; i < 5; i++) {
+            services.addPoint("john", "house", 100 + i, 100 + i);
+            if (i % 2 == 0) services.addPoints("john", "house", List.of(new Point(-i, -i), new Point(-i, 0)));
+            BlueprintDelta delta = services.getPointsSince("john", "house", since);
+            assertThat(delta.sincePoint()).isEqualTo(since);
+            seen.addAll(delta.points());
+            since = delta.pointCount();
+        }
+
+        assertThat(seen).containsExactlyElementsOf(services.getBlueprint("john", "house").getPoints());
+        BlueprintDelta idle = services.getPointsSince("john", "house", since);
+        assertThat(idle.points()).isEmpty();
+        assertThat(idle.version()).isEqualTo(8);
+    }
+
+    @Test
+    void invalidRequestsAreRejected() {
+        assertThrows(BadRequestException.class, () -> services.getPointsSince("john", "house", -1));
+        assertThrows(BlueprintNotFoundException.class, () -> services.getPointsSince("john", "ghost", 0));
+    }
+}
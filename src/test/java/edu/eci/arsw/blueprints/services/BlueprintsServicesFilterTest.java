@@ -1,5 +1,6 @@
 package edu.eci.arsw.blueprints.services;
 
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
 import edu.eci.arsw.blueprints.filters.RedundancyFilter;
 import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
 import edu.eci.arsw.blueprints.model.Blueprint;
@@ -10,11 +11,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -53,4 +60,56 @@ class BlueprintsServicesFilterTest {
         assertThat(services.getBlueprintsByAuthor("john").iterator().next().getPoints()).isEqualTo(expected);
         assertThat(services.getBlueprint("john", "shape").getPoints()).isEqualTo(expected);
     }
+
+    @Test
+    void filtersParameterOverridesTheConfiguredFilter() throws Exception {
+        BlueprintsServices services = new BlueprintsServices(persistence, new RedundancyFilter());
+        when(persistence.getBlueprint(anyString(), anyString())).thenReturn(RAW_BP);
+
+        assertThat(services.getBlueprint("john", "shape", "redundancy,undersampling").getPoints())
+                .isEqualTo(List.of(new Point(0, 0), new Point(2, 2)));
+        assertThat(services.getBlueprint("john", "shape", "").getPoints())
+                .isEqualTo(List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+    }
+
+    @Test
+    void levelOfDetailIsFilteredAfterDecimation() throws Exception {
+        BlueprintsServices services = new BlueprintsServices(persistence, new RedundancyFilter());
+        when(persistence.getBlueprint(anyString(), anyString())).thenReturn(RAW_BP);
+
+        // level 1 keeps (0,0) (1,1) and the last point; redundancy has nothing left to drop
+        assertThat(services.getBlueprint("john", "shape", null, 1, null).getPoints())
+                .isEqualTo(List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+        assertThat(services.getBlueprint("john", "shape", null, null, 2).getPoints())
+                .isEqualTo(List.of(new Point(0, 0), new Point(2, 2)));
+        assertThatThrownBy(() -> services.getBlueprint("john", "shape", null, 1, 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void unknownFilterIsABadRequest() {
+        BlueprintsServices services = new BlueprintsServices(persistence, new RedundancyFilter());
+
+        assertThatThrownBy(() -> services.getAllBlueprints("nope"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("nope");
+        verifyNoInteractions(persistence);
+    }
+
+    @Test
+    void exportFiltersEveryBlueprint() {
+        BlueprintsServices services = new BlueprintsServices(persistence, new RedundancyFilter());
+        doAnswer(inv -> {
+            Consumer<Blueprint> action = inv.getArgument(0);
+            action.accept(RAW_BP);
+            return null;
+        }).when(persistence).forEachBlueprint(any());
+
+        List<Blueprint> exported = new ArrayList<>();
+        services.exportBlueprints(exported::add);
+
+        assertThat(exported).singleElement()
+                .extracting(Blueprint::getPoints)
+                .isEqualTo(List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+    }
 }
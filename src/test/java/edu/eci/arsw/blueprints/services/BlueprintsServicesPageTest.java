@@ -0,0 +1,53 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BlueprintPage;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlueprintsServicesPageTest {
+
+    private final InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+    private final BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter());
+
+    @Test
+    void followingNextCursorVisitsEveryBlueprintOnce() throws Exception {
+        for (int i = 0; i < 25; i++) {
+            persistence.saveBlueprint(new Blueprint("author-" + (i % 4), "bp-" + i, List.of()));
+        }
+
+        List<Blueprint> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            BlueprintPage page = services.getBlueprintsPage(cursor, 7, false);
+            seen.addAll(page.items());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(28).doesNotHaveDuplicates();
+        assertThat(seen).containsExactlyInAnyOrderElementsOf(persistence.getAllBlueprints());
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() {
+        BlueprintPage page = services.getBlueprintsPage(null, 3, true);
+
+        assertThat(page.items()).hasSize(3);
+        assertThat(page.nextCursor()).isNull();
+        assertThat(page.items().get(0).getPoints()).isNotEmpty();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        assertThrows(BadRequestException.class, () -> services.getBlueprintsPage("not a cursor!", 3, true));
+        assertThrows(BadRequestException.class, () -> services.getBlueprintsPage("bm9zZXBhcmF0b3I", 3, true));
+    }
+}
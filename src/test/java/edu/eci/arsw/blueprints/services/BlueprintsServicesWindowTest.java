@@ -0,0 +1,64 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.exceptions.BadRequestException;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.BoundingBox;
+import edu.eci.arsw.blueprints.model.Point;
+import edu.eci.arsw.blueprints.persistence.InMemoryBlueprintPersistence;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BlueprintsServicesWindowTest {
+
+    private final InMemoryBlueprintPersistence persistence = new InMemoryBlueprintPersistence();
+    private final BlueprintsServices services = new BlueprintsServices(persistence, new IdentityFilter());
+
+    @Test
+    void listsIntersectingBlueprintsInOrderWithOnlyTheirPointsInside() {
+        // sample data: john/house (0,0)-(10,10), john/garage (5,5)-(15,15), jane/garden (2,2)-(6,7)
+        List<Blueprint> found = services.getBlueprintsWithin("11,11,20,20", true, null);
+
+        assertThat(found).extracting(Blueprint::getName).containsExactly("garage");
+        assertThat(found.get(0).getPoints()).containsExactly(new Point(15, 15));
+
+        assertThat(services.getBlueprintsWithin("0,0,5,5", false, null))
+                .extracting(bp -> bp.getAuthor() + "/" + bp.getName())
+                .containsExactly("jane/garden", "john/garage", "john/house");
+        assertThat(services.getBlueprintsWithin("0,0,5,5", false, null))
+                .allSatisfy(bp -> assertThat(bp.getPoints()).isEmpty());
+    }
+
+    @Test
+    void appendedPointsMoveBlueprintIntoNewWindows() throws Exception {
+        assertThat(services.getBlueprintsWithin("1000,1000,1100,1100", false, null)).isEmpty();
+
+        services.addPoint("jane", "garden", 1050, 1050);
+        services.addPoints("john", "house", List.of(new Point(1000, 1100)));
+
+        assertThat(services.getBlueprintsWithin("1000,1000,1100,1100", true, null))
+                .extracting(bp -> bp.getName() + bp.getPoints())
+                .containsExactly("garden[Point[x=1050, y=1050]]", "house[Point[x=1000, y=1100]]");
+    }
+
+    @Test
+    void clipsOneBlueprintToTheWindow() throws Exception {
+        Blueprint house = persistence.getBlueprint("john", "house");
+
+        assertThat(services.getBlueprint("john", "house", null, null, null, "0,0,10,5").getPoints())
+                .containsExactly(new Point(0, 0), new Point(10, 0));
+        assertThat(services.getBlueprint("john", "house", null, null, null, "100,100,200,200").getPoints()).isEmpty();
+        assertThat(BlueprintsServices.clip(house, new BoundingBox(-1, -1, 10, 10))).isSameAs(house);
+    }
+
+    @Test
+    void malformedWindowIsABadRequest() {
+        assertThrows(BadRequestException.class, () -> services.getBlueprintsWithin("0,0,1", true, null));
+        assertThrows(BadRequestException.class,
+                () -> services.getBlueprint("john", "house", null, null, null, "5,5,0,0"));
+    }
+}
@@ -0,0 +1,73 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.filters.RedundancyFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FilterExecutorTest {
+
+    private final FilterExecutor executor = new FilterExecutor(4, 1_000);
+    private final Set<String> threads = ConcurrentHashMap.newKeySet();
+    private final UnaryOperator<Blueprint> recordingFilter = bp -> {
+        threads.add(Thread.currentThread().getName());
+        return new RedundancyFilter().apply(bp);
+    };
+
+    @AfterEach
+    void shutDown() {
+        executor.destroy();
+    }
+
+    // n blueprints of 'size' points, every point repeated once so the filter halves them
+    private static List<Blueprint> blueprints(int n, int size) {
+        return IntStream.range(0, n)
+                .mapToObj(i -> new Blueprint("author", "bp-" + i, IntStream.range(0, size)
+                        .mapToObj(j -> new Point(j / 2, i))
+                        .toList()))
+                .toList();
+    }
+
+    @Test
+    void smallListingsStayOnTheCallingThread() {
+        Set<Blueprint> out = executor.filterAll(blueprints(9, 100), recordingFilter);
+
+        assertThat(out).hasSize(9).allSatisfy(bp -> assertThat(bp.getPoints()).hasSize(50));
+        assertThat(threads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    void largeListingsRunOnTheDedicatedPool() {
+        Set<Blueprint> out = executor.filterAll(blueprints(64, 100), recordingFilter);
+
+        assertThat(out).hasSize(64).allSatisfy(bp -> assertThat(bp.getPoints()).hasSize(50));
+        assertThat(threads).isNotEmpty().allMatch(name -> name.startsWith("blueprint-filter-"));
+    }
+
+    @Test
+    void filterFailuresReachTheCaller() {
+        assertThatThrownBy(() -> executor.filterAll(blueprints(64, 100), bp -> {
+            throw new IllegalStateException("broken filter");
+        })).isInstanceOf(IllegalStateException.class).hasStackTraceContaining("broken filter");
+    }
+
+    @Test
+    void singleThreadOrNoThresholdIsAlwaysSequential() {
+        List<Blueprint> large = blueprints(64, 100);
+
+        assertThat(new FilterExecutor(1, 1_000).parallel(large)).isFalse();
+        assertThat(new FilterExecutor(4, 0).parallel(large)).isFalse();
+        assertThat(executor.parallel(large.subList(0, 9))).isFalse();
+        assertThat(executor.parallel(large.subList(0, 10))).isTrue();
+    }
+}
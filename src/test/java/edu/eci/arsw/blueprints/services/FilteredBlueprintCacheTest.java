@@ -0,0 +1,143 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.filters.BlueprintsFilter;
+import edu.eci.arsw.blueprints.filters.IdentityFilter;
+import edu.eci.arsw.blueprints.filters.UndersamplingFilter;
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilteredBlueprintCacheTest {
+
+    private final AtomicInteger applied = new AtomicInteger();
+    private final BlueprintsFilter countingFilter = bp -> {
+        applied.incrementAndGet();
+        return new UndersamplingFilter().apply(bp);
+    };
+
+    private static Blueprint blueprint() {
+        return new Blueprint("john", "house", List.of(new Point(0, 0), new Point(1, 1), new Point(2, 2)));
+    }
+
+    private static BlueprintsFilter keyed(String key, BlueprintsFilter filter) {
+        return new BlueprintsFilter() {
+            @Override
+            public Blueprint apply(Blueprint bp) {
+                return filter.apply(bp);
+            }
+
+            @Override
+            public String key() {
+                return key;
+            }
+        };
+    }
+
+    @Test
+    void unchangedBlueprintIsFilteredOnce() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000, 0, Duration.ofMinutes(1));
+        Blueprint bp = blueprint();
+
+        Blueprint first = cache.filtered(bp, countingFilter);
+        Blueprint second = cache.filtered(bp, countingFilter);
+
+        assertThat(second).isSameAs(first);
+        assertThat(applied).hasValue(1);
+        assertThat(cache.stats()).isEqualTo(new FilteredBlueprintCache.Stats(true, 1, 1, 0, 1));
+    }
+
+    @Test
+    void slowFilterDoesNotBlockOtherRequestsForTheSameKey() throws Exception {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000, 0, Duration.ofMinutes(1));
+        Blueprint bp = blueprint();
+        CountDownLatch filtering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        BlueprintsFilter slowFilter = keyed("slow", b -> {
+            filtering.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return countingFilter.apply(b);
+        });
+        CompletableFuture<Blueprint> slow = CompletableFuture.supplyAsync(() -> cache.filtered(bp, slowFilter));
+        try {
+            assertThat(filtering.await(5, TimeUnit.SECONDS)).isTrue();
+
+            // same key while the first filter is still running: it filters on its own instead of waiting
+            Blueprint concurrent = CompletableFuture.supplyAsync(() -> cache.filtered(bp, keyed("slow", countingFilter)))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertThat(concurrent.getPoints()).containsExactly(new Point(0, 0), new Point(2, 2));
+        } finally {
+            release.countDown();
+        }
+        assertThat(slow.get(5, TimeUnit.SECONDS).getPoints()).containsExactly(new Point(0, 0), new Point(2, 2));
+        assertThat(applied).hasValue(2);
+    }
+
+    @Test
+    void appendBumpsVersionAndMissesCache() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000, 0, Duration.ofMinutes(1));
+        Blueprint bp = blueprint();
+        cache.filtered(bp, countingFilter);
+
+        bp.addPoint(3, 3);
+        bp.addPoint(4, 4);
+        Blueprint refreshed = cache.filtered(bp, countingFilter);
+
+        assertThat(bp.getVersion()).isEqualTo(2);
+        assertThat(applied).hasValue(2);
+        assertThat(refreshed.getPoints()).containsExactly(new Point(0, 0), new Point(2, 2), new Point(4, 4));
+    }
+
+    @Test
+    void entriesAreEvictedBySize() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(3, 0, Duration.ofMinutes(1));
+        for (int i = 0; i < 10; i++) {
+            cache.filtered(new Blueprint("john", "bp-" + i, List.of(new Point(i, i), new Point(i, i), new Point(i, i))),
+                    countingFilter);
+        }
+
+        cache.cleanUp();
+
+        assertThat(cache.stats().evictions()).isPositive();
+        assertThat(cache.stats().entries()).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    void smallBlueprintsBypassTheCache() {
+        FilteredBlueprintCache cache = new FilteredBlueprintCache(1_000, 4, Duration.ofMinutes(1));
+        Blueprint bp = blueprint();
+
+        cache.filtered(bp, countingFilter);
+        cache.filtered(bp, countingFilter);
+
+        assertThat(applied).hasValue(2);
+        assertThat(cache.stats().entries()).isZero();
+    }
+
+    @Test
+    void disabledCacheAndIdentityFilterAlwaysDelegate() {
+        FilteredBlueprintCache disabled = FilteredBlueprintCache.disabled();
+        Blueprint bp = blueprint();
+
+        disabled.filtered(bp, countingFilter);
+        disabled.filtered(bp, countingFilter);
+        Blueprint identity = new FilteredBlueprintCache(1_000, 0, Duration.ofMinutes(1)).filtered(bp, new IdentityFilter());
+
+        assertThat(applied).hasValue(2);
+        assertThat(identity).isSameAs(bp);
+        assertThat(disabled.stats().enabled()).isFalse();
+    }
+}
@@ -0,0 +1,67 @@
+package edu.eci.arsw.blueprints.services;
+
+import edu.eci.arsw.blueprints.model.Blueprint;
+import edu.eci.arsw.blueprints.model.Point;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LevelOfDetailTest {
+
+    @Test
+    void levelKeepsEveryTwoToTheKthPointAndTheLast() {
+        for (int n = 0; n <= 70; n++) {
+            Blueprint bp = new Blueprint("author", "bp", points(n));
+            for (int level = 0; level <= 8; level++) {
+                assertThat(LevelOfDetail.level(bp, level).getPoints())
+                        .as("n=%d level=%d", n, level)
+                        .isEqualTo(decimated(points(n), level))
+                        .hasSize(LevelOfDetail.size(n, level));
+            }
+        }
+        Blueprint bp = new Blueprint("author", "bp", points(5));
+        assertThat(LevelOfDetail.level(bp, 31).getPoints()).containsExactly(new Point(0, 0), new Point(4, -4));
+    }
+
+    @Test
+    void levelsIncludeTheLatestAppends() {
+        Blueprint bp = new Blueprint("author", "growing", points(100));
+        LevelOfDetail.level(bp, 3);
+
+        bp.addPoint(100, -100);
+
+        assertThat(LevelOfDetail.level(bp, 3).getPoints()).isEqualTo(decimated(points(101), 3));
+        assertThat(LevelOfDetail.level(bp, 3).getVersion()).isEqualTo(bp.getVersion());
+    }
+
+    @Test
+    void maxPointsPicksTheMostDetailedLevelThatFits() {
+        Blueprint bp = new Blueprint("author", "bp", points(1000));
+
+        assertThat(LevelOfDetail.maxPoints(bp, 1000)).isSameAs(bp);
+        assertThat(LevelOfDetail.maxPoints(bp, 500).getPoints()).isEqualTo(decimated(points(1000), 2)).hasSize(251);
+        assertThat(LevelOfDetail.maxPoints(bp, 2).getPoints()).containsExactly(new Point(0, 0), new Point(999, -999));
+        for (int max = 2; max <= 1000; max += 7) {
+            int level = LevelOfDetail.levelFor(1000, max);
+            assertThat(LevelOfDetail.size(1000, level)).isLessThanOrEqualTo(max);
+            if (level > 0) assertThat(LevelOfDetail.size(1000, level - 1)).isGreaterThan(max);
+        }
+    }
+
+    private static List<Point> points(int n) {
+        return IntStream.range(0, n).mapToObj(i -> new Point(i, -i)).toList();
+    }
+
+    private static List<Point> decimated(List<Point> points, int level) {
+        int n = points.size();
+        if (level == 0 || n <= 2) return points;
+        List<Point> out = new ArrayList<>();
+        for (int i = 0; i < n; i += 1 << level) out.add(points.get(i));
+        if ((n - 1) % (1 << level) != 0) out.add(points.get(n - 1));
+        return out;
+    }
+}